@@ -0,0 +1,158 @@
+package pl.edu.agh.kis.pz1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.edu.agh.kis.pz1.MyMap;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of single operations on a populated MyMap against java.util.HashMap.
+ * Lookups cycle through a precomputed random sequence of keys present in the map, or of keys beyond
+ * the populated range for misses, so every invocation does the same amount of work regardless of the
+ * map size and no key is boxed while measuring.
+ *
+ * Run with "-prof gc" to see the allocation rate of each operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapOperationsBenchmark {
+    private static final int LOOKUP_SEQUENCE_LENGTH = 1 << 12;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private MyMap<Integer, Integer> myMap;
+    private HashMap<Integer, Integer> hashMap;
+    private Integer[] lookupKeys;
+    private Integer[] missingKeys;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        myMap = new MyMap<>();
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Integer key = i * 7;
+            myMap.put(key, i);
+            hashMap.put(key, i);
+        }
+        Random random = new Random(42);
+        lookupKeys = new Integer[LOOKUP_SEQUENCE_LENGTH];
+        missingKeys = new Integer[LOOKUP_SEQUENCE_LENGTH];
+        for (int i = 0; i < LOOKUP_SEQUENCE_LENGTH; i++) {
+            lookupKeys[i] = random.nextInt(size) * 7;
+            missingKeys[i] = (size + random.nextInt(size)) * 7;
+        }
+    }
+
+    private Integer nextKey() {
+        position = (position + 1) & (LOOKUP_SEQUENCE_LENGTH - 1);
+        return lookupKeys[position];
+    }
+
+    private Integer nextMissingKey() {
+        position = (position + 1) & (LOOKUP_SEQUENCE_LENGTH - 1);
+        return missingKeys[position];
+    }
+
+    @Benchmark
+    public Integer myMapGet() {
+        return myMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer hashMapGet() {
+        return hashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer myMapGetMissing() {
+        return myMap.get(nextMissingKey());
+    }
+
+    @Benchmark
+    public Integer hashMapGetMissing() {
+        return hashMap.get(nextMissingKey());
+    }
+
+    @Benchmark
+    public void myMapPutExisting() {
+        Integer key = nextKey();
+        myMap.put(key, key);
+    }
+
+    @Benchmark
+    public void hashMapPutExisting() {
+        Integer key = nextKey();
+        hashMap.put(key, key);
+    }
+
+    @Benchmark
+    public void myMapRemoveAndPut() {
+        Integer key = nextKey();
+        myMap.remove(key);
+        myMap.put(key, key);
+    }
+
+    @Benchmark
+    public void hashMapRemoveAndPut() {
+        Integer key = nextKey();
+        hashMap.remove(key);
+        hashMap.put(key, key);
+    }
+
+    @Benchmark
+    public void myMapKeys(Blackhole blackhole) {
+        for (Integer key : myMap.keys()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void hashMapKeySet(Blackhole blackhole) {
+        for (Integer key : hashMap.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void myMapEntrySet(Blackhole blackhole) {
+        for (MyMap<Integer, Integer>.MyEntry entry : myMap.entrySet()) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public void hashMapEntrySet(Blackhole blackhole) {
+        for (java.util.Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public void myMapForEach(Blackhole blackhole) {
+        myMap.forEach((key, value) -> blackhole.consume(value));
+    }
+
+    @Benchmark
+    public void hashMapForEach(Blackhole blackhole) {
+        hashMap.forEach((key, value) -> blackhole.consume(value));
+    }
+}
@@ -55,14 +55,19 @@ public class CsvReader {
 
             String[] values;
             int lineNumber = 0;
+            List<Room> rooms = new ArrayList<>();
             while ((values = csvReader.readNext()) != null) {
                 lineNumber++;
                 // Skip header
                 if (lineNumber == 1) {
                     continue;
                 }
-                processLine(values, lineNumber, hotel);
+                Room room = processLine(values, lineNumber, hotel.getGuestRegistry());
+                if (room != null) {
+                    rooms.add(room);
+                }
             }
+            hotel.addRooms(rooms);
             System.out.println("Data successfully read");
             return true;
         } catch (IOException | CsvValidationException e) {
@@ -72,25 +77,28 @@ public class CsvReader {
     }
 
     /**
-     * Processes a single line from the CSV file.
+     * Processes a single line from the CSV file. Rooms are collected by the caller and added
+     * to the hotel in one bulk operation once the whole file has been read.
      *
      * @param values     The array of string values from the CSV line.
      * @param lineNumber The current line number being processed.
-     * @param hotel      The Hotel instance to which the room and reservations will be added.
+     * @param registry   The registry through which guests are shared between reservations.
+     * @return The room described by the line, with its reservations, or null if the line is invalid.
      */
-    private static void processLine(String[] values, int lineNumber, Hotel hotel) {
+    private static Room processLine(String[] values, int lineNumber, GuestRegistry registry) {
         if (values.length < 5) {
             System.out.println("Invalid number of fields in line " + lineNumber + ": " + String.join(",", values));
-            return;
+            return null;
         }
         try {
             Room room = parseRoom(values);
             if (values.length >= 8) {
-                processReservations(values, lineNumber, room);
+                processReservations(values, lineNumber, room, registry);
             }
-            hotel.addRoom(room);
+            return room;
         } catch (Exception e) {
             System.out.println("Error parsing data in line " + lineNumber + ": " + String.join(",", values));
+            return null;
         }
     }
 
@@ -100,6 +108,7 @@ public class CsvReader {
      * @param values The array of string values from the CSV line.
      * @return A Room object populated with data from the CSV line.
      * @throws NumberFormatException If there is an error parsing numeric values.
+     * @throws IllegalArgumentException If the price has a fraction of a cent.
      */
     private static Room parseRoom(String[] values) throws NumberFormatException {
         int roomNumber = Integer.parseInt(values[0]);
@@ -116,8 +125,9 @@ public class CsvReader {
      * @param values     The array of string values from the CSV line.
      * @param lineNumber The current line number being processed.
      * @param room       The Room object to which reservations will be added.
+     * @param registry   The registry through which guests are shared between reservations.
      */
-    private static void processReservations(String[] values, int lineNumber, Room room) {
+    private static void processReservations(String[] values, int lineNumber, Room room, GuestRegistry registry) {
         String checkInDatesStr = values[5];
         String checkOutDatesStr = values[6];
         String guestsStr = values[7];
@@ -134,8 +144,10 @@ public class CsvReader {
             }
 
             for (int i = 0; i < checkInDates.length; i++) {
-                Reservation reservation = parseReservation(checkInDates[i], checkOutDates[i], guestGroups[i]);
-                room.getReservations().add(reservation);
+                Reservation reservation = parseReservation(checkInDates[i], checkOutDates[i], guestGroups[i], registry);
+                if (!room.addReservation(reservation)) {
+                    System.out.println("Overlapping reservation " + reservation.getPeriod() + " in line " + lineNumber + " skipped");
+                }
             }
         }
     }
@@ -146,13 +158,15 @@ public class CsvReader {
      * @param checkInDateStr  The check-in date as a string.
      * @param checkOutDateStr The check-out date as a string.
      * @param guestGroupStr   The guest group information as a string.
+     * @param registry        The registry through which guests are shared between reservations.
      * @return A Reservation object populated with the provided data.
      */
-    private static Reservation parseReservation(String checkInDateStr, String checkOutDateStr, String guestGroupStr) {
+    private static Reservation parseReservation(String checkInDateStr, String checkOutDateStr, String guestGroupStr,
+                                                GuestRegistry registry) {
         LocalDate checkInDate = LocalDate.parse(checkInDateStr);
         LocalDate checkOutDate = LocalDate.parse(checkOutDateStr);
 
-        List<Guest> guests = parseGuests(guestGroupStr);
+        List<Guest> guests = parseGuests(guestGroupStr, registry);
         ReservationPeriod period = new ReservationPeriod(checkInDate, checkOutDate);
         return new Reservation(guests, period);
     }
@@ -160,10 +174,13 @@ public class CsvReader {
     /**
      * Parses guest information from a guest group string.
      *
+     * Guests are taken from the registry, so a guest appearing in many reservations is a single object.
+     *
      * @param guestGroupStr The guest group information as a string.
+     * @param registry      The registry through which guests are shared between reservations.
      * @return A list of Guest objects parsed from the guest group string.
      */
-    private static List<Guest> parseGuests(String guestGroupStr) {
+    static List<Guest> parseGuests(String guestGroupStr, GuestRegistry registry) {
         List<Guest> guests = new ArrayList<>();
         String[] guestNames = guestGroupStr.replace("<", "").replace(">", "").split("-");
 
@@ -172,7 +189,7 @@ public class CsvReader {
             if (nameParts.length >= 2) {
                 String firstName = nameParts[0];
                 String lastName = nameParts[1];
-                guests.add(new Guest(firstName, lastName, false));
+                guests.add(registry.intern(firstName, lastName, false));
             }
         }
         return guests;
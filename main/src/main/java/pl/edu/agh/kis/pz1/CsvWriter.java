@@ -32,11 +32,21 @@ public class CsvWriter {
      * @return true if the data was successfully written, false otherwise.
      */
     public static boolean writeCSV(Hotel hotel) {
-        File file = new File("main/src/main/resources/hotel-data.csv");
+        return writeCSV(hotel, new File("main/src/main/resources/hotel-data.csv"));
+    }
 
+    /**
+     * Writes hotel data to the given CSV file, in the format read by CsvReader.
+     * The method creates the parent directories if they do not exist.
+     *
+     * @param hotel The Hotel instance containing data to be written to the CSV file.
+     * @param file  The file to be written; an existing file is replaced.
+     * @return true if the data was successfully written, false otherwise.
+     */
+    public static boolean writeCSV(Hotel hotel, File file) {
         try {
-            File directory = new File("main/src/main/resources/");
-            if (!directory.exists()) {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (directory != null && !directory.exists()) {
                 directory.mkdirs();
             }
 
@@ -68,15 +78,7 @@ public class CsvWriter {
                     checkInDates.add(reservation.getPeriod().getCheckInDate().toString());
                     checkOutDates.add(reservation.getPeriod().getCheckOutDate().toString());
 
-                    StringBuilder guestGroup = new StringBuilder("<");
-                    for (Guest guest : reservation.getGuests()) {
-                        guestGroup.append(guest.getFirstName()).append(" ").append(guest.getLastName()).append("-");
-                    }
-                    if (guestGroup.length() > 1) {
-                        guestGroup.setLength(guestGroup.length() - 1); // Remove the last hyphen
-                    }
-                    guestGroup.append(">");
-                    guestGroups.add(guestGroup.toString());
+                    guestGroups.add(formatGuests(reservation.getGuests()));
                 }
 
                 data.add(String.join(";", checkInDates));
@@ -93,4 +95,22 @@ public class CsvWriter {
             return false;
         }
     }
+
+    /**
+     * Formats the guests of a reservation as a guest group, for example "&lt;Jan Kowalski-Anna Nowak&gt;".
+     *
+     * @param guests The guests of the reservation.
+     * @return The guest group string.
+     */
+    static String formatGuests(List<Guest> guests) {
+        StringBuilder guestGroup = new StringBuilder("<");
+        for (Guest guest : guests) {
+            guestGroup.append(guest.getFirstName()).append(" ").append(guest.getLastName()).append("-");
+        }
+        if (guestGroup.length() > 1) {
+            guestGroup.setLength(guestGroup.length() - 1); // Remove the last hyphen
+        }
+        guestGroup.append(">");
+        return guestGroup.toString();
+    }
 }
@@ -0,0 +1,38 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.Locale;
+
+/**
+ * The DurabilityMode enum decides when a change recorded in a {@link WriteAheadLog} is forced to disk,
+ * trading the latency of a booking against the changes that can be lost if the machine fails.
+ */
+public enum DurabilityMode {
+    /**
+     * Every change is forced to disk on its own before the operation completes. Nothing is ever lost,
+     * but every booking pays for a full disk flush.
+     */
+    PER_OPERATION,
+
+    /**
+     * Every change is on disk before the operation completes, but changes recorded at the same time are
+     * forced together with a single flush (group commit), so concurrent bookings share its cost.
+     */
+    BATCHED,
+
+    /**
+     * Operations complete as soon as the change is written, and a background thread forces it to disk
+     * shortly afterwards. Changes of the last moments before a machine failure may be lost.
+     */
+    ASYNC;
+
+    /**
+     * Parses a mode written in any case, with hyphens in place of underscores, for example "per-operation".
+     *
+     * @param text The name of the mode.
+     * @return The mode.
+     * @throws IllegalArgumentException if there is no mode of that name.
+     */
+    public static DurabilityMode parse(String text) {
+        return valueOf(text.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -3,16 +3,57 @@ package pl.edu.agh.kis.pz1;
 import pl.edu.agh.kis.pz1.model.Hotel;
 import pl.edu.agh.kis.pz1.model.HotelSystem;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
 /**
  * The Main class is the entry point of the hotel management application.
  * It initializes the hotel system, loads hotel data from a CSV file,
  * and starts the command-line interface for user interaction.
+ *
+ * Passing the --stats argument enables operation statistics of the room map,
+ * which can then be displayed with the "stats" command.
+ *
+ * Passing the --journal=DIRECTORY argument keeps a reservation journal with periodic snapshots in that
+ * directory: the hotel is restored from it at startup and every change is recorded as soon as it is made.
+ * The --durability=MODE argument chooses when recorded changes reach the disk: per-operation, batched
+ * (the default, which shares one disk flush between concurrent changes) or async.
  */
 public class Main {
+    private static final String JOURNAL_OPTION = "--journal=";
+    private static final String DURABILITY_OPTION = "--durability=";
+
     public static void main(String[] args) {
         Hotel hotel = new Hotel();
-        CsvReader.readCSV(hotel);
+        if (Arrays.asList(args).contains("--stats")) {
+            hotel.getRooms().enableStats();
+        }
+        Path journalDirectory = null;
+        DurabilityMode durability = DurabilityMode.BATCHED;
+        for (String arg : args) {
+            if (arg.startsWith(JOURNAL_OPTION)) {
+                journalDirectory = Paths.get(arg.substring(JOURNAL_OPTION.length()));
+            } else if (arg.startsWith(DURABILITY_OPTION)) {
+                try {
+                    durability = DurabilityMode.parse(arg.substring(DURABILITY_OPTION.length()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Unknown durability mode: " + arg.substring(DURABILITY_OPTION.length()));
+                    return;
+                }
+            }
+        }
+        ReservationJournal journal = journalDirectory == null ? null
+                : new ReservationJournal(journalDirectory, ReservationJournal.DEFAULT_SNAPSHOT_INTERVAL, durability);
+        if (journal == null) {
+            CsvReader.readCSV(hotel);
+        } else if (!journal.open(hotel)) {
+            return;
+        }
         HotelSystem hotelSystem = new HotelSystem(hotel);
         hotelSystem.system();
+        if (journal != null) {
+            journal.close();
+        }
     }
-}
\ No newline at end of file
+}
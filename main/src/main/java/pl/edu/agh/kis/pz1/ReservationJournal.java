@@ -0,0 +1,462 @@
+package pl.edu.agh.kis.pz1;
+
+import pl.edu.agh.kis.pz1.model.Guest;
+import pl.edu.agh.kis.pz1.model.Hotel;
+import pl.edu.agh.kis.pz1.model.Reservation;
+import pl.edu.agh.kis.pz1.model.ReservationListener;
+import pl.edu.agh.kis.pz1.model.ReservationPeriod;
+import pl.edu.agh.kis.pz1.model.Room;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ReservationJournal class persists every change to the reservations of a hotel as it happens.
+ * Each booking, check-in and check-out appends a single line to a journal file, so saving costs O(1)
+ * per operation instead of rewriting the whole hotel. Every few thousand events a compact snapshot of
+ * the hotel is written in the CSV format of CsvWriter and a new journal file is started, so the journal
+ * never grows without bound and startup only replays the events recorded after the latest snapshot.
+ *
+ * The journal is written through a {@link WriteAheadLog}, and a change is durable as the {@link DurabilityMode}
+ * requires before the operation that made it completes. By default concurrent changes share one disk flush.
+ * If a change cannot be recorded, an {@link java.io.UncheckedIOException} is thrown from the listener, so the
+ * room undoes the change and the operation fails. The journal is then cut back to the last change that was
+ * reported as recorded ({@link WriteAheadLog#rollBack()}), and every later change is rejected until a snapshot
+ * taken after the failure has been written and the failed journal deleted; that snapshot is scheduled right
+ * away and retried with every rejected change. Only if the journal cannot even be cut back and the application
+ * stops before such a snapshot succeeds can a change that was reported as failed be replayed on the next start.
+ *
+ * Files are numbered by generation: snapshot-N.csv holds the state of the hotel at the moment
+ * journal-N.log was started. A snapshot is taken in the background while all rooms are briefly locked,
+ * so it matches the start of its journal exactly; it is written to a temporary file and moved into place,
+ * and older generations are deleted only afterwards. If the application stops halfway, the previous
+ * snapshot and all later journals are still there and are replayed instead. Snapshots are forced
+ * to disk before they replace the previous generation.
+ *
+ * Journal lines have the form {@code ADD,101,2024-06-10,2024-06-12,<Jan Kowalski-Anna Nowak>}
+ * or {@code REMOVE,...} with the same fields. A group booking is a single line,
+ * {@code GROUP,2024-06-10,2024-06-12,101,<Jan Kowalski>;102,<Anna Nowak>}, written with one flush
+ * and replayed as a whole. Like the CSV file, the journal does not record which guest is the main guest.
+ * An incomplete last line left by a crash is cut off before the journal is replayed.
+ */
+public class ReservationJournal implements ReservationListener {
+    /**
+     * The number of events after which a snapshot is taken by default.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 5000;
+
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".csv";
+    private static final String ADD = "ADD";
+    private static final String REMOVE = "REMOVE";
+    private static final String GROUP = "GROUP";
+    private static final char GROUP_SEPARATOR = ';';
+
+    private final Path directory;
+    private final int snapshotInterval;
+    private final DurabilityMode durability;
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Hotel hotel;
+    private long generation;
+    private WriteAheadLog log;
+    private int eventsSinceSnapshot;
+    private boolean snapshotScheduled;
+    // the first failure not yet covered by a snapshot, and the generation of the journal it happened in
+    private IOException failure;
+    private long failedGeneration;
+
+    /**
+     * Constructs a journal kept in the given directory, in which concurrent changes are made durable together.
+     *
+     * @param directory        The directory holding the journal and snapshot files; it is created if needed.
+     * @param snapshotInterval The number of events after which a new snapshot is taken.
+     * @throws IllegalArgumentException if the snapshot interval is not positive.
+     */
+    public ReservationJournal(Path directory, int snapshotInterval) {
+        this(directory, snapshotInterval, DurabilityMode.BATCHED);
+    }
+
+    /**
+     * Constructs a journal kept in the given directory.
+     *
+     * @param directory        The directory holding the journal and snapshot files; it is created if needed.
+     * @param snapshotInterval The number of events after which a new snapshot is taken.
+     * @param durability       When recorded changes are forced to disk.
+     * @throws IllegalArgumentException if the snapshot interval is not positive.
+     * @throws NullPointerException     if the durability mode is null.
+     */
+    public ReservationJournal(Path directory, int snapshotInterval, DurabilityMode durability) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + snapshotInterval);
+        }
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.durability = Objects.requireNonNull(durability, "Durability mode must not be null");
+    }
+
+    /**
+     * Restores the hotel from the latest snapshot and the journals recorded after it, then starts
+     * recording its changes. Without any snapshot, the hotel is first loaded from the bundled CSV file.
+     *
+     * @param hotel The empty hotel to be restored.
+     * @return true if the hotel was restored, false if the files could not be read.
+     */
+    public boolean open(Hotel hotel) {
+        try {
+            Files.createDirectories(directory);
+            long snapshotGeneration = latestGeneration(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshotGeneration >= 0) {
+                try (InputStream is = Files.newInputStream(snapshotPath(snapshotGeneration))) {
+                    if (!CsvReader.readCSV(hotel, is)) {
+                        return false;
+                    }
+                }
+            } else {
+                CsvReader.readCSV(hotel);
+            }
+            int replayed = 0;
+            generation = Math.max(snapshotGeneration, 0);
+            for (long journalGeneration : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+                if (journalGeneration >= snapshotGeneration) {
+                    WriteAheadLog.recover(journalPath(journalGeneration));
+                    replayed += replay(hotel, journalPath(journalGeneration));
+                    generation = journalGeneration;
+                }
+            }
+            System.out.println("Replayed " + replayed + " journal events");
+        } catch (IOException e) {
+            System.out.println("Error reading journal: " + e.getMessage());
+            return false;
+        }
+        this.hotel = hotel;
+        hotel.addReservationListener(this);
+        return true;
+    }
+
+    @Override
+    public void reservationAdded(Room room, Reservation reservation) {
+        record(List.of(format(ADD, room, reservation)));
+    }
+
+    @Override
+    public void reservationRemoved(Room room, Reservation reservation) {
+        record(List.of(format(REMOVE, room, reservation)));
+    }
+
+    /**
+     * Records a group booking as a single GROUP line, so it is made durable with one flush
+     * and a crash can never leave only part of the group in the journal.
+     */
+    @Override
+    public void reservationsAdded(List<Room> rooms, List<Reservation> reservations) {
+        ReservationPeriod period = reservations.get(0).getPeriod();
+        StringBuilder line = new StringBuilder(GROUP).append(',').append(period.getCheckInDate())
+                .append(',').append(period.getCheckOutDate()).append(',');
+        for (int i = 0; i < rooms.size(); i++) {
+            if (i > 0) {
+                line.append(GROUP_SEPARATOR);
+            }
+            line.append(rooms.get(i).getNumber()).append(',')
+                    .append(CsvWriter.formatGuests(reservations.get(i).getGuests()));
+        }
+        record(List.of(line.toString()));
+    }
+
+    /**
+     * Writes a snapshot of the hotel and starts a new journal, then deletes the files of older generations.
+     * Snapshots are normally taken in the background once enough events have been recorded.
+     *
+     * @return true if the snapshot was written, false otherwise.
+     */
+    public boolean snapshot() {
+        long[] snapshotGeneration = new long[1];
+        Hotel copy = hotel.copyReservations(() -> snapshotGeneration[0] = startNextGeneration());
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + snapshotGeneration[0] + SNAPSHOT_SUFFIX + ".tmp");
+        try {
+            if (!CsvWriter.writeCSV(copy, temporary.toFile())) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, snapshotPath(snapshotGeneration[0]),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteGenerationsBefore(snapshotGeneration[0]);
+            synchronized (this) {
+                if (failure != null && failedGeneration < snapshotGeneration[0]) {
+                    failure = null;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + e.getMessage());
+            return false;
+        } finally {
+            synchronized (this) {
+                snapshotScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Waits for a running snapshot to finish and closes the journal file.
+     */
+    public void close() {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeLog();
+        }
+    }
+
+    /**
+     * Appends lines to the current journal, opening the file on the first event of a generation,
+     * and schedules a snapshot once enough events have been recorded. The wait for the lines to reach
+     * the disk happens once, for the last of them, and outside the monitor, so other rooms can append
+     * and share the same flush.
+     *
+     * @throws UncheckedIOException if the lines cannot be written or made durable, or an earlier failure
+     *                              is not yet covered by a snapshot; the room then undoes the change.
+     */
+    private void record(List<String> lines) {
+        WriteAheadLog current;
+        long position = 0;
+        synchronized (this) {
+            if (failure != null) {
+                scheduleSnapshot();
+                throw new UncheckedIOException("Journal failed earlier: " + failure.getMessage(), failure);
+            }
+            try {
+                if (log == null) {
+                    log = openLog(journalPath(generation));
+                }
+                for (String line : lines) {
+                    position = log.append(line);
+                }
+            } catch (IOException e) {
+                throw failed(log, e);
+            }
+            current = log;
+            eventsSinceSnapshot += lines.size();
+            if (eventsSinceSnapshot >= snapshotInterval) {
+                scheduleSnapshot();
+            }
+        }
+        try {
+            current.sync(position);
+        } catch (IOException e) {
+            throw failed(current, e);
+        }
+    }
+
+    /**
+     * Cuts the failed journal back to the last change reported as recorded and rejects further changes until
+     * a snapshot has started a new journal and deleted the failed one. Called while the room of the failed
+     * change is locked, so no snapshot can start a new generation in between.
+     *
+     * @param failedLog The log that failed, or null if it could not be opened.
+     */
+    private synchronized UncheckedIOException failed(WriteAheadLog failedLog, IOException e) {
+        if (failure == null) {
+            failure = e;
+            failedGeneration = generation;
+        }
+        if (failedLog != null) {
+            try {
+                failedLog.rollBack();
+            } catch (IOException rollBackFailure) {
+                e.addSuppressed(rollBackFailure);
+            }
+        }
+        scheduleSnapshot();
+        return new UncheckedIOException("Error writing journal: " + e.getMessage(), e);
+    }
+
+    private synchronized void scheduleSnapshot() {
+        if (!snapshotScheduled && !snapshotExecutor.isShutdown()) {
+            snapshotScheduled = true;
+            snapshotExecutor.execute(this::snapshot);
+        }
+    }
+
+    /**
+     * Opens the log of a journal file; tests replace it to make writes fail.
+     */
+    WriteAheadLog openLog(Path file) throws IOException {
+        return new WriteAheadLog(file, durability);
+    }
+
+    /**
+     * Closes the current journal and moves on to the next generation. Called while every room is locked,
+     * so no event can be recorded between the snapshot and the start of its journal.
+     */
+    private synchronized long startNextGeneration() {
+        closeLog();
+        generation++;
+        eventsSinceSnapshot = 0;
+        return generation;
+    }
+
+    private void closeLog() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.out.println("Error closing journal: " + e.getMessage());
+            }
+            log = null;
+        }
+    }
+
+    private static String format(String type, Room room, Reservation reservation) {
+        ReservationPeriod period = reservation.getPeriod();
+        return type + "," + room.getNumber() + "," + period.getCheckInDate() + "," + period.getCheckOutDate() + ","
+                + CsvWriter.formatGuests(reservation.getGuests());
+    }
+
+    /**
+     * Applies the events of a journal file to the hotel. Lines that cannot be applied, such as a line
+     * cut short when the application stopped, are reported and skipped.
+     *
+     * @return The number of lines read.
+     */
+    private static int replay(Hotel hotel, Path journal) throws IOException {
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!apply(hotel, line)) {
+                    System.out.println("Skipping journal line " + lineNumber + " of " + journal.getFileName() + ": " + line);
+                }
+            }
+        }
+        return lineNumber;
+    }
+
+    private static boolean apply(Hotel hotel, String line) {
+        if (line.startsWith(GROUP + ",")) {
+            return applyGroup(hotel, line);
+        }
+        String[] fields = line.split(",", 5);
+        if (fields.length < 5) {
+            return false;
+        }
+        try {
+            Room room = hotel.getRoomByNumber(Integer.parseInt(fields[1]));
+            if (room == null) {
+                return false;
+            }
+            ReservationPeriod period = new ReservationPeriod(LocalDate.parse(fields[2]), LocalDate.parse(fields[3]));
+            List<Guest> guests = CsvReader.parseGuests(fields[4], hotel.getGuestRegistry());
+            Reservation reservation = new Reservation(guests, period);
+            switch (fields[0]) {
+                case ADD:
+                    return room.addReservation(reservation);
+                case REMOVE:
+                    return room.removeReservation(reservation);
+                default:
+                    return false;
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Books the rooms of a GROUP line together, so the group is restored in full or not at all.
+     */
+    private static boolean applyGroup(Hotel hotel, String line) {
+        String[] fields = line.split(",", 4);
+        if (fields.length < 4) {
+            return false;
+        }
+        try {
+            LocalDate checkInDate = LocalDate.parse(fields[1]);
+            LocalDate checkOutDate = LocalDate.parse(fields[2]);
+            IntObjectMap<List<Guest>> guestsByRoom = new IntObjectMap<>();
+            for (String booking : fields[3].split(String.valueOf(GROUP_SEPARATOR))) {
+                String[] parts = booking.split(",", 2);
+                if (parts.length < 2) {
+                    return false;
+                }
+                guestsByRoom.put(Integer.parseInt(parts[0]), CsvReader.parseGuests(parts[1], hotel.getGuestRegistry()));
+            }
+            return hotel.reserveGroup(guestsByRoom, checkInDate, checkOutDate).isEmpty();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve(JOURNAL_PREFIX + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private Path snapshotPath(long snapshotGeneration) {
+        return directory.resolve(SNAPSHOT_PREFIX + snapshotGeneration + SNAPSHOT_SUFFIX);
+    }
+
+    private long latestGeneration(String prefix, String suffix) throws IOException {
+        List<Long> found = generations(prefix, suffix);
+        return found.isEmpty() ? -1 : found.get(found.size() - 1);
+    }
+
+    /**
+     * Returns the generations of the files with the given prefix and suffix, in ascending order.
+     */
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        List<Long> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    found.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // not a file of this journal
+                }
+            }
+        }
+        Collections.sort(found);
+        return found;
+    }
+
+    private void deleteGenerationsBefore(long oldestKept) throws IOException {
+        for (long old : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            if (old < oldestKept) {
+                Files.deleteIfExists(journalPath(old));
+            }
+        }
+        for (long old : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < oldestKept) {
+                Files.deleteIfExists(snapshotPath(old));
+            }
+        }
+    }
+}
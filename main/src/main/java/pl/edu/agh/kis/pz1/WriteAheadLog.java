@@ -0,0 +1,359 @@
+package pl.edu.agh.kis.pz1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The WriteAheadLog class appends lines to a file and makes them durable according to a {@link DurabilityMode}.
+ *
+ * Appending a line only writes it to the file and returns its end position; {@link #sync(long)} then waits
+ * until the file is on disk up to that position. In {@link DurabilityMode#BATCHED} mode the first waiting
+ * thread forces the file while later threads keep appending, and whoever is still waiting once that force
+ * completes is covered by the next one, so a single {@link FileChannel#force(boolean)} makes many concurrent
+ * operations durable at once (group commit). {@link DurabilityMode#PER_OPERATION} forces the file for every
+ * operation, and {@link DurabilityMode#ASYNC} leaves forcing to a background thread.
+ *
+ * Once a write or a force has failed, the log cannot tell which lines reached the disk, so every later
+ * call fails as well; nothing more is written to it, and {@link #rollBack()} cuts off the lines whose
+ * operations were told they failed. A line is only complete once its line separator is written,
+ * and {@link #recover(Path)} cuts off an incomplete last line left by a crash.
+ */
+public class WriteAheadLog implements Closeable {
+    /**
+     * How often, in milliseconds, the file is forced to disk in {@link DurabilityMode#ASYNC} mode.
+     */
+    public static final long ASYNC_FLUSH_INTERVAL_MILLIS = 50;
+
+    private static final int RECOVERY_CHUNK_BYTES = 4096;
+
+    private final FileChannel channel;
+    private final DurabilityMode mode;
+    private final ScheduledExecutorService flusher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition forceDone = lock.newCondition();
+    // positions in bytes: everything before written is in the file, everything before durable is on disk
+    private long written;
+    private long durable;
+    // end of the last line written in full; lines up to it are acknowledged in ASYNC mode
+    private long lineEnd;
+    private boolean forcing;
+    private boolean closed;
+    private long forceCount;
+    private IOException failure;
+
+    /**
+     * Opens the log, keeping the lines already in the file.
+     *
+     * @param file The file of the log; it is created if it does not exist.
+     * @param mode When appended lines are forced to disk.
+     * @throws IOException if the file cannot be opened.
+     */
+    public WriteAheadLog(Path file, DurabilityMode mode) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                mode);
+    }
+
+    /**
+     * Opens the log on a channel positioned at its end.
+     */
+    WriteAheadLog(FileChannel channel, DurabilityMode mode) throws IOException {
+        this.channel = channel;
+        this.mode = mode;
+        this.written = channel.size();
+        this.durable = written;
+        this.lineEnd = written;
+        if (mode == DurabilityMode.ASYNC) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, ASYNC_FLUSH_INTERVAL_MILLIS,
+                    ASYNC_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Writes a line to the end of the log, without waiting for it to reach the disk.
+     *
+     * @param line The line, without a line separator.
+     * @return The position just after the line, to be passed to {@link #sync(long)}.
+     * @throws IOException if the line cannot be written or the log is closed.
+     */
+    public long append(String line) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(line + "\n");
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Log is closed");
+            }
+            checkNotFailed();
+            try {
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer);
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            lineEnd = written;
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cuts off the last line of the file if it is incomplete, that is if it does not end with a line separator.
+     * Such a line was being written when the application stopped, so no operation relied on it.
+     *
+     * @param file The file of a log that is not open.
+     * @return The number of bytes removed.
+     * @throws IOException if the file cannot be read or truncated.
+     */
+    public static long recover(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer buffer = ByteBuffer.allocate(RECOVERY_CHUNK_BYTES);
+            while (end > 0) {
+                long start = Math.max(0, end - RECOVERY_CHUNK_BYTES);
+                buffer.clear().limit((int) (end - start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = buffer.position() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        return truncate(channel, size, start + i + 1);
+                    }
+                }
+                end = start;
+            }
+            return truncate(channel, size, 0);
+        }
+    }
+
+    private static long truncate(FileChannel channel, long size, long length) throws IOException {
+        if (length < size) {
+            channel.truncate(length);
+            channel.force(false);
+        }
+        return size - length;
+    }
+
+    /**
+     * Waits until the log is durable up to the given position, as the durability mode requires.
+     * Returns immediately in {@link DurabilityMode#ASYNC} mode.
+     *
+     * @param position The position returned by {@link #append(String)}.
+     * @throws IOException if the file cannot be forced to disk.
+     */
+    public void sync(long position) throws IOException {
+        switch (mode) {
+            case PER_OPERATION:
+                forceNow(position);
+                break;
+            case BATCHED:
+                forceUpTo(position);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk, sharing a force that is already running where possible.
+     *
+     * @throws IOException if the file cannot be forced to disk.
+     */
+    public void flush() throws IOException {
+        long position;
+        lock.lock();
+        try {
+            position = written;
+        } finally {
+            lock.unlock();
+        }
+        forceUpTo(position);
+    }
+
+    /**
+     * Forces the remaining lines to disk and closes the file. Unless the log has failed, positions appended
+     * earlier count as durable afterwards.
+     *
+     * @throws IOException if the file cannot be forced or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        lock.lock();
+        try {
+            while (forcing) {
+                forceDone.awaitUninterruptibly();
+            }
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (failure == null && durable < written) {
+                    try {
+                        channel.force(false);
+                    } catch (IOException e) {
+                        failure = e;
+                        throw e;
+                    }
+                    forceCount++;
+                }
+                if (failure == null) {
+                    durable = written;
+                }
+            } finally {
+                channel.close();
+                forceDone.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of times the file has been forced to disk.
+     */
+    long getForceCount() {
+        lock.lock();
+        try {
+            return forceCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * After the log has failed, cuts the file back to the end of the last line whose operation was told it
+     * succeeded: the last durable line, or in {@link DurabilityMode#ASYNC} mode the last line written in full.
+     * The lines after it belong to operations that failed, so they must not be replayed.
+     *
+     * @return The number of bytes removed; 0 if the log has not failed.
+     * @throws IOException if the file cannot be truncated.
+     */
+    public long rollBack() throws IOException {
+        lock.lock();
+        try {
+            while (forcing) {
+                forceDone.awaitUninterruptibly();
+            }
+            if (failure == null) {
+                return 0;
+            }
+            return truncate(channel, channel.size(), mode == DurabilityMode.ASYNC ? lineEnd : durable);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the file while holding the lock, so no other operation shares the force. A position that
+     * is already durable is not forced again, so its operation succeeds even if a later force has failed.
+     */
+    private void forceNow(long position) throws IOException {
+        lock.lock();
+        try {
+            while (forcing) {
+                forceDone.awaitUninterruptibly();
+            }
+            if (durable >= position) {
+                return;
+            }
+            checkNotFailed();
+            if (closed) {
+                throw new IOException("Log is closed");
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            forceCount++;
+            durable = written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the file is on disk up to the given position. If no force is running, the calling thread
+     * forces everything written so far with the lock released, so other threads can append meanwhile;
+     * otherwise it waits for the running force and checks again.
+     */
+    private void forceUpTo(long position) throws IOException {
+        lock.lock();
+        try {
+            while (durable < position) {
+                checkNotFailed();
+                if (closed) {
+                    throw new IOException("Log is closed");
+                }
+                if (forcing) {
+                    forceDone.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                long target = written;
+                IOException forceFailure = null;
+                lock.unlock();
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    forceFailure = e;
+                } finally {
+                    lock.lock();
+                    forcing = false;
+                    if (forceFailure == null) {
+                        forceCount++;
+                        durable = Math.max(durable, target);
+                    } else {
+                        failure = forceFailure;
+                    }
+                    forceDone.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called with the lock held.
+     */
+    private void checkNotFailed() throws IOException {
+        if (failure != null) {
+            throw new IOException("Log failed earlier: " + failure.getMessage(), failure);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Error flushing log: " + e.getMessage());
+        }
+    }
+}
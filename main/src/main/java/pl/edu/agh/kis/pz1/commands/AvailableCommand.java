@@ -0,0 +1,58 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import pl.edu.agh.kis.pz1.model.Hotel;
+import pl.edu.agh.kis.pz1.model.Room;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The AvailableCommand class searches for rooms that are free in a given period
+ * and can hold a given number of guests.
+ */
+public class AvailableCommand extends Command {
+    private Hotel hotel;
+
+    /**
+     * Constructs an AvailableCommand with the specified Hotel instance.
+     *
+     * @param hotel the Hotel instance whose rooms are searched
+     */
+    public AvailableCommand(Hotel hotel) {
+        this.hotel = hotel;
+    }
+
+    /**
+     * Executes the available command. Prompts the user for the check-in date, the number of nights
+     * and the number of guests, then lists every matching room with its capacity and price.
+     */
+    @Override
+    public void execute() {
+        Scanner sc = new Scanner(System.in);
+        try {
+            System.out.print("Enter check-in date (YYYY-MM-DD) or leave blank for today: ");
+            String checkInDateInput = sc.nextLine().trim();
+            LocalDate checkInDate = checkInDateInput.isEmpty() ? LocalDate.now() : LocalDate.parse(checkInDateInput);
+
+            System.out.print("Enter duration of stay in days: ");
+            int durationOfStay = Integer.parseInt(sc.nextLine().trim());
+
+            System.out.print("Enter number of guests: ");
+            int guestsCount = Integer.parseInt(sc.nextLine().trim());
+
+            List<Room> rooms = hotel.findAvailableRooms(checkInDate, checkInDate.plusDays(durationOfStay), guestsCount);
+            if (rooms.isEmpty()) {
+                System.out.println("No rooms are available for the requested dates.");
+                return;
+            }
+            System.out.println("Available rooms from " + checkInDate + " to " + checkInDate.plusDays(durationOfStay) + ":");
+            for (Room room : rooms) {
+                System.out.println("Room " + room.getNumber() + " (" + room.getDescription() + "), capacity "
+                        + room.getCapacity() + ", costs " + room.getPricePerNight() + "$ per night.");
+            }
+        } catch (Exception e) {
+            System.out.println("Invalid date, duration of stay or number of guests.");
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package pl.edu.agh.kis.pz1.commands;
 
 import pl.edu.agh.kis.pz1.model.Hotel;
+import pl.edu.agh.kis.pz1.model.Money;
 import pl.edu.agh.kis.pz1.model.Reservation;
-import pl.edu.agh.kis.pz1.model.ReservationPeriod;
 import pl.edu.agh.kis.pz1.model.Room;
 
-import java.math.BigDecimal;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.Scanner;
 
 /**
@@ -42,29 +41,20 @@ public class CheckOutCommand extends Command {
             int roomNr = sc.nextInt();
             sc.nextLine();
 
-            Room room = hotel.getRooms().get(roomNr);
+            Room room = hotel.getRoomByNumber(roomNr);
             if (room == null) {
                 System.out.println("Room not found.");
                 return;
             }
 
             LocalDate currentDate = LocalDate.now();
-            Reservation currentReservation = null;
-
-
-            // iterujemuy po rezerwacjach by dostac rezerwacje ktora jest teraz
-            Iterator<Reservation> iterator = room.getReservations().iterator();
-            while (iterator.hasNext()) {
-                Reservation reservation = iterator.next();
-                ReservationPeriod period = reservation.getPeriod();
-
-                if (!currentDate.isBefore(period.getCheckInDate()) && !currentDate.isAfter(period.getCheckOutDate())) {
-                    currentReservation = reservation;
-                    iterator.remove();
-                    break;
-                }
+            Reservation currentReservation;
+            try {
+                currentReservation = room.removeReservationOn(currentDate);
+            } catch (UncheckedIOException e) {
+                System.out.println("Could not record the check-out: " + e.getMessage() + ". The guests are still checked in.");
+                return;
             }
-
             if (currentReservation == null) {
                 System.out.println("No reservation period contains the current date.");
                 return;
@@ -76,10 +66,9 @@ public class CheckOutCommand extends Command {
                 daysBetween = 0;
             }
 
-            BigDecimal pricePerNight = room.getPricePerNight();
-            BigDecimal totalCost = pricePerNight.multiply(BigDecimal.valueOf(daysBetween));
+            Money totalCost = room.getPrice().times(daysBetween);
 
-            System.out.println("This room costs " + pricePerNight + "$. You have stayed in this room for " +
+            System.out.println("This room costs " + room.getPricePerNight() + "$. You have stayed in this room for " +
                     daysBetween + " days. The total cost is " + totalCost + "$.");
 
             room.setOccupied(false);
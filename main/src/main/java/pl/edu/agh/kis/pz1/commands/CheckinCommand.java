@@ -4,6 +4,7 @@ import pl.edu.agh.kis.pz1.model.Guest;
 import pl.edu.agh.kis.pz1.model.Hotel;
 import pl.edu.agh.kis.pz1.model.Room;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,7 +44,7 @@ public class CheckinCommand extends Command {
             int roomNr = sc.nextInt();
             sc.nextLine();
 
-            Room room = hotel.getRooms().get(roomNr);
+            Room room = hotel.getRoomByNumber(roomNr);
             if (room == null) {
                 System.out.println("Room not found.");
                 return;
@@ -68,7 +69,7 @@ public class CheckinCommand extends Command {
                 LocalDate plannedCheckOutDate = checkInDate.plusDays(durationOfStay);
 
                 List<Guest> guests = new ArrayList<>();
-                Guest mainGuest = new Guest(firstName, lastName, true);
+                Guest mainGuest = hotel.getGuestRegistry().intern(firstName, lastName, true);
                 guests.add(mainGuest);
 
                 int roomCapacity = room.getCapacity();
@@ -90,7 +91,7 @@ public class CheckinCommand extends Command {
                             System.out.print("Last name: ");
                             String additionalLastName = sc.nextLine().trim();
 
-                            Guest additionalGuest = new Guest(additionalFirstName, additionalLastName, false);
+                            Guest additionalGuest = hotel.getGuestRegistry().intern(additionalFirstName, additionalLastName, false);
                             guests.add(additionalGuest);
                             currentGuests++;
 
@@ -101,7 +102,13 @@ public class CheckinCommand extends Command {
                     }
                 }
 
-                boolean reservationAdded = room.addReservation(guests, checkInDate, plannedCheckOutDate);
+                boolean reservationAdded;
+                try {
+                    reservationAdded = room.addReservation(guests, checkInDate, plannedCheckOutDate);
+                } catch (UncheckedIOException e) {
+                    System.out.println("Could not record the check-in: " + e.getMessage() + ". The room was not booked.");
+                    return;
+                }
                 if (!reservationAdded) {
                     System.out.println("The room is already booked for the requested dates.");
                     return;
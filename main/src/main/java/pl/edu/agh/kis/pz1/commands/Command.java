@@ -10,4 +10,14 @@ public abstract class Command {
      * Executes the command. All subclasses must implement this method.
      */
     public abstract void execute();
+
+    /**
+     * Executes the command with the words typed after its name. Commands that take no
+     * arguments ignore them, which is what this default implementation does.
+     *
+     * @param args the words following the command name; empty if there are none
+     */
+    public void execute(String[] args) {
+        execute();
+    }
 }
\ No newline at end of file
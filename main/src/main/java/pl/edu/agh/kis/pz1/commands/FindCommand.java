@@ -0,0 +1,51 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import pl.edu.agh.kis.pz1.model.Guest;
+import pl.edu.agh.kis.pz1.model.GuestStay;
+import pl.edu.agh.kis.pz1.model.Hotel;
+
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The FindCommand class finds guests by the beginning of their last name
+ * and shows the rooms and periods of their stays.
+ */
+public class FindCommand extends Command {
+    private Hotel hotel;
+
+    /**
+     * Constructs a FindCommand with the specified Hotel instance.
+     *
+     * @param hotel the Hotel instance whose guests are searched
+     */
+    public FindCommand(Hotel hotel) {
+        this.hotel = hotel;
+    }
+
+    /**
+     * Executes the find command. Prompts the user for a last name or its beginning,
+     * then lists every matching guest with the room and period of the stay.
+     */
+    @Override
+    public void execute() {
+        Scanner sc = new Scanner(System.in);
+        System.out.print("Enter last name or its beginning: ");
+        String prefix = sc.nextLine().trim();
+        if (prefix.isEmpty()) {
+            System.out.println("Last name cannot be empty.");
+            return;
+        }
+
+        List<GuestStay> stays = hotel.findGuests(prefix);
+        if (stays.isEmpty()) {
+            System.out.println("No guests found.");
+            return;
+        }
+        for (GuestStay stay : stays) {
+            Guest guest = stay.getGuest();
+            System.out.println(guest.getFirstName() + " " + guest.getLastName() + " - room "
+                    + stay.getRoomNumber() + ", " + stay.getPeriod() + ".");
+        }
+    }
+}
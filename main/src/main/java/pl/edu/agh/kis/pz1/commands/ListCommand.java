@@ -1,14 +1,19 @@
 package pl.edu.agh.kis.pz1.commands;
 
+import pl.edu.agh.kis.pz1.SortedMyMap;
 import pl.edu.agh.kis.pz1.model.Guest;
 import pl.edu.agh.kis.pz1.model.Hotel;
 import pl.edu.agh.kis.pz1.model.Reservation;
 import pl.edu.agh.kis.pz1.model.Room;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 /**
  * The ListCommand class implements the logic for listing all rooms in a hotel.
  * When executed, it displays detailed information about each room, including
  * its number, description, price, capacity, and reservation details (if any).
+ * Given a date, it shows instead which rooms are booked on that date and by whom.
  */
 public class ListCommand extends Command {
     private Hotel hotel;
@@ -29,16 +34,54 @@ public class ListCommand extends Command {
     @Override
     public void execute() {
         for (Room room : hotel.getRooms().getValues()) {
-            // Display the room's number, description, price, and capacity
-            System.out.println("\nRoom number: " + room.getNumber());
-            System.out.println("Room description: " + room.getDescription());
-            System.out.println("Room price per night: " + room.getPricePerNight());
-            System.out.println("Room capacity: " + room.getCapacity());
+            printRoom(room);
             // sprawdzma czy w tym pokoju sa jakies rezerwacje
             checkOccupied(room);
         }
     }
 
+    /**
+     * Executes the list command. With a date as the first argument, displays every room with its
+     * state on that date; without arguments, behaves like {@link #execute()}.
+     *
+     * @param args the optional date in the format YYYY-MM-DD
+     */
+    @Override
+    public void execute(String[] args) {
+        if (args.length == 0) {
+            execute();
+            return;
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(args[0]);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date: " + args[0]);
+            return;
+        }
+        SortedMyMap<Integer, Reservation> occupancy = hotel.getOccupancyOn(date);
+        for (Room room : hotel.getRooms().getValues()) {
+            printRoom(room);
+            Reservation reservation = occupancy.get(room.getNumber());
+            if (reservation == null) {
+                System.out.println("The room is free on " + date + ".");
+            } else {
+                System.out.println("The room is occupied on " + date + ".");
+                printReservation(reservation);
+            }
+        }
+    }
+
+    /**
+     * Displays the room's number, description, price, and capacity.
+     */
+    private void printRoom(Room room) {
+        System.out.println("\nRoom number: " + room.getNumber());
+        System.out.println("Room description: " + room.getDescription());
+        System.out.println("Room price per night: " + room.getPricePerNight());
+        System.out.println("Room capacity: " + room.getCapacity());
+    }
+
     /**
      * Checks if a room is occupied and displays the reservation details if it is.
      * If the room is not occupied, it displays a message indicating the room's availability.
@@ -51,15 +94,19 @@ public class ListCommand extends Command {
         } else {
             System.out.println("Reservation details:");
             for (Reservation reservation : room.getReservations()) {
-                System.out.println("Guests in the reservation:");
-                for (Guest guest : reservation.getGuests()) {
-                    String guestType = guest.isMainGuest() ? "Main guest" : "Guest";
-                    System.out.println(guestType + ": " + guest.getFirstName() + " " + guest.getLastName());
-                }
-                System.out.println("Reservation period: " +
-                        reservation.getPeriod().getCheckInDate() + " to " +
-                        reservation.getPeriod().getCheckOutDate());
+                printReservation(reservation);
             }
         }
     }
+
+    private void printReservation(Reservation reservation) {
+        System.out.println("Guests in the reservation:");
+        for (Guest guest : reservation.getGuests()) {
+            String guestType = guest.isMainGuest() ? "Main guest" : "Guest";
+            System.out.println(guestType + ": " + guest.getFirstName() + " " + guest.getLastName());
+        }
+        System.out.println("Reservation period: " +
+                reservation.getPeriod().getCheckInDate() + " to " +
+                reservation.getPeriod().getCheckOutDate());
+    }
 }
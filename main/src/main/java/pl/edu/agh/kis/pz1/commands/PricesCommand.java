@@ -25,8 +25,7 @@ public class PricesCommand extends Command {
      */
     @Override
     public void execute() {
-        for (int index : hotel.getRooms().keys()) {
-            Room room = hotel.getRooms().get(index);
+        for (Room room : hotel.getAllRooms()) {
             StringBuilder sB = new StringBuilder("Room ");
             sB.append(room.getDescription());
             sB.append(" number ");
@@ -0,0 +1,65 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import pl.edu.agh.kis.pz1.model.Hotel;
+import pl.edu.agh.kis.pz1.model.OccupancyReport;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Scanner;
+
+/**
+ * The ReportCommand class shows the occupancy and revenue of the hotel over a period,
+ * broken down by floor, by month and, for periods of up to a month, by day.
+ */
+public class ReportCommand extends Command {
+    private static final int MAX_DAILY_LINES = 31;
+
+    private Hotel hotel;
+
+    /**
+     * Constructs a ReportCommand with the specified Hotel instance.
+     *
+     * @param hotel the Hotel instance to report on
+     */
+    public ReportCommand(Hotel hotel) {
+        this.hotel = hotel;
+    }
+
+    /**
+     * Executes the report command. Prompts the user for the start date and the number of days,
+     * then prints the totals of the hotel, of every floor and of every month of the period.
+     * Daily totals are printed only for periods of at most 31 days.
+     */
+    @Override
+    public void execute() {
+        Scanner sc = new Scanner(System.in);
+        OccupancyReport report;
+        try {
+            System.out.print("Enter start date (YYYY-MM-DD) or leave blank for today: ");
+            String fromDateInput = sc.nextLine().trim();
+            LocalDate fromDate = fromDateInput.isEmpty() ? LocalDate.now() : LocalDate.parse(fromDateInput);
+
+            System.out.print("Enter number of days: ");
+            int dayCount = Integer.parseInt(sc.nextLine().trim());
+
+            report = OccupancyReport.generate(hotel, fromDate, fromDate.plusDays(dayCount));
+        } catch (Exception e) {
+            System.out.println("Invalid date or number of days.");
+            return;
+        }
+
+        System.out.println("Occupancy report from " + report.getFromDate() + " to " + report.getToDate() + ":");
+        System.out.println("Hotel: " + report.getTotal());
+        for (int floor : report.getFloors()) {
+            System.out.println("Floor " + floor + ": " + report.getFloor(floor));
+        }
+        for (YearMonth month : report.getMonths()) {
+            System.out.println("Month " + month + ": " + report.getMonth(month));
+        }
+        if (!report.getToDate().isAfter(report.getFromDate().plusDays(MAX_DAILY_LINES))) {
+            for (LocalDate day = report.getFromDate(); day.isBefore(report.getToDate()); day = day.plusDays(1)) {
+                System.out.println("Day " + day + ": " + report.getDay(day));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import pl.edu.agh.kis.pz1.MapStats;
+import pl.edu.agh.kis.pz1.model.Hotel;
+
+import java.util.Locale;
+
+/**
+ * The StatsCommand class reports the internal statistics of the map holding the hotel's rooms:
+ * its size and capacity, estimated memory footprint, and, when statistics are enabled,
+ * lookup hit rate, probe lengths and the number of resizes.
+ */
+public class StatsCommand extends Command {
+    private Hotel hotel;
+
+    /**
+     * Constructs a StatsCommand with the specified hotel.
+     *
+     * @param hotel The hotel whose room map statistics are displayed.
+     */
+    public StatsCommand(Hotel hotel) {
+        this.hotel = hotel;
+    }
+
+    /**
+     * Executes the stats command, printing the statistics of the room map.
+     */
+    @Override
+    public void execute() {
+        MapStats stats = hotel.getRooms().getStats();
+        System.out.println("Rooms: " + stats.getSize());
+        System.out.println("Table capacity: " + stats.getTableCapacity()
+                + String.format(Locale.ROOT, " (%.0f%% full)", stats.getFillRatio() * 100));
+        System.out.println("Estimated memory footprint: " + stats.getFootprintBytes() + " bytes");
+        if (!hotel.getRooms().isStatsEnabled()) {
+            System.out.println("Operation statistics are disabled. Start the application with --stats to collect them.");
+            return;
+        }
+        System.out.println("Lookups: " + stats.getLookups() + " (hits: " + stats.getHits()
+                + ", misses: " + stats.getMisses() + ")");
+        System.out.println("Puts: " + stats.getPuts() + ", removes: " + stats.getRemoves());
+        System.out.println(String.format(Locale.ROOT, "Average probe length: %.2f, longest: %d",
+                stats.getAverageProbeLength(), stats.getMaxProbeLength()));
+        System.out.println("Resizes: " + stats.getResizes() + ", compactions: " + stats.getCompactions());
+    }
+}
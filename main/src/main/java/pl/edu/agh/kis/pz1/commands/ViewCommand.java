@@ -5,12 +5,15 @@ import pl.edu.agh.kis.pz1.model.Hotel;
 import pl.edu.agh.kis.pz1.model.Reservation;
 import pl.edu.agh.kis.pz1.model.Room;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Scanner;
 
 /**
  * The ViewCommand class implements the functionality to view the details of a specified room.
  * It allows users to enter a room number and retrieve information such as room description,
  * price, capacity, occupancy status, guest details, and check-in/check-out dates if applicable.
+ * The room number can also be given as an argument, followed by a date on which to show the room's state.
  */
 public class ViewCommand extends Command {
     private Hotel hotel;
@@ -37,34 +40,85 @@ public class ViewCommand extends Command {
         try {
             int roomNr = sc.nextInt();
             sc.nextLine();
-            Room room = hotel.getRooms().get(roomNr);
-            if (room == null) {
-                System.out.println("Room not found.");
+            view(roomNr, null);
+        } catch (Exception e) {
+            System.out.println("Invalid room number");
+        }
+    }
+
+    /**
+     * Executes the ViewCommand for the room number given as the first argument. If a date follows,
+     * only the reservation booking the room on that date is shown. Without arguments the room number
+     * is prompted for, as in {@link #execute()}.
+     *
+     * @param args the room number and an optional date in the format YYYY-MM-DD
+     */
+    @Override
+    public void execute(String[] args) {
+        if (args.length == 0) {
+            execute();
+            return;
+        }
+        int roomNr;
+        try {
+            roomNr = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid room number");
+            return;
+        }
+        LocalDate date = null;
+        if (args.length > 1) {
+            try {
+                date = LocalDate.parse(args[1]);
+            } catch (DateTimeParseException e) {
+                System.out.println("Invalid date: " + args[1]);
                 return;
             }
+        }
+        view(roomNr, date);
+    }
+
+    /**
+     * Displays the room's details and either all its reservations or, given a date, its state on that date.
+     */
+    private void view(int roomNr, LocalDate date) {
+        Room room = hotel.getRoomByNumber(roomNr);
+        if (room == null) {
+            System.out.println("Room not found.");
+            return;
+        }
 
-            System.out.println("Room number: " + room.getNumber());
-            System.out.println("Room description: " + room.getDescription());
-            System.out.println("Room price per night: " + room.getPricePerNight());
-            System.out.println("Room capacity: " + room.getCapacity());
+        System.out.println("Room number: " + room.getNumber());
+        System.out.println("Room description: " + room.getDescription());
+        System.out.println("Room price per night: " + room.getPricePerNight());
+        System.out.println("Room capacity: " + room.getCapacity());
 
-            if (room.getReservations().isEmpty()) {
-                System.out.println("No reservations found for this room.");
+        if (date != null) {
+            Reservation reservation = room.findReservationForNight(date);
+            if (reservation == null) {
+                System.out.println("The room is free on " + date + ".");
             } else {
-                System.out.println("Reservations:");
-                for (Reservation reservation : room.getReservations()) {
-                    System.out.println("Guests in the reservation:");
-                    for (Guest guest : reservation.getGuests()) {
-                        String guestType = guest.isMainGuest() ? "Main guest" : "Guest";
-                        System.out.println(guestType + ": " + guest.getFirstName() + " " + guest.getLastName());
-                    }
-                    System.out.println("Reservation period: " +
-                            reservation.getPeriod().getCheckInDate() + " to " +
-                            reservation.getPeriod().getCheckOutDate());
-                }
+                System.out.println("The room is occupied on " + date + ".");
+                printReservation(reservation);
             }
-        } catch (Exception e) {
-            System.out.println("Invalid room number");
+        } else if (room.getReservations().isEmpty()) {
+            System.out.println("No reservations found for this room.");
+        } else {
+            System.out.println("Reservations:");
+            for (Reservation reservation : room.getReservations()) {
+                printReservation(reservation);
+            }
+        }
+    }
+
+    private void printReservation(Reservation reservation) {
+        System.out.println("Guests in the reservation:");
+        for (Guest guest : reservation.getGuests()) {
+            String guestType = guest.isMainGuest() ? "Main guest" : "Guest";
+            System.out.println(guestType + ": " + guest.getFirstName() + " " + guest.getLastName());
         }
+        System.out.println("Reservation period: " +
+                reservation.getPeriod().getCheckInDate() + " to " +
+                reservation.getPeriod().getCheckOutDate());
     }
 }
@@ -0,0 +1,160 @@
+package pl.edu.agh.kis.pz1.model;
+
+import pl.edu.agh.kis.pz1.Map;
+import pl.edu.agh.kis.pz1.MyMap;
+import pl.edu.agh.kis.pz1.SortedMyMap;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The GuestIndex class finds the stays of guests by the beginning of their last name. Stays are grouped
+ * under the normalized last name of the guest (lower case, without accents) in a sorted map, so a search
+ * seeks once to the first name not smaller than the prefix and walks the matching names in order, costing
+ * O(log n + k) for n distinct last names and k matching stays instead of a scan over every reservation.
+ * A second, hashed index maps each guest's full name to all of their stays in order of check-in, so the
+ * history of one guest is read in O(k) time for k stays. That index ignores whether the guest was the main
+ * guest of a reservation, so a guest's stays in either role make up one history.
+ *
+ * The index listens to the rooms of a hotel and follows their reservations as they are added and removed.
+ * All methods are synchronized, so the index may be updated by rooms booked from several threads.
+ */
+public class GuestIndex implements ReservationListener {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final SortedMyMap<String, List<GuestStay>> staysByLastName = new SortedMyMap<>();
+    private final MyMap<String, List<GuestStay>> staysByGuest = new MyMap<>();
+    private int size;
+
+    @Override
+    public synchronized void reservationAdded(Room room, Reservation reservation) {
+        for (Guest guest : reservation.getGuests()) {
+            GuestStay stay = new GuestStay(guest, room.getNumber(), reservation.getPeriod());
+            addStay(staysByLastName, normalize(guest.getLastName()), stay);
+            addStay(staysByGuest, guestKey(guest.getFirstName(), guest.getLastName()), stay);
+            size++;
+        }
+    }
+
+    @Override
+    public synchronized void reservationRemoved(Room room, Reservation reservation) {
+        for (Guest guest : reservation.getGuests()) {
+            GuestStay stay = new GuestStay(guest, room.getNumber(), reservation.getPeriod());
+            if (removeStay(staysByLastName, normalize(guest.getLastName()), stay)) {
+                removeStay(staysByGuest, guestKey(guest.getFirstName(), guest.getLastName()), stay);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Returns every stay of the guest with the given names, past and future, in order of check-in.
+     * Names are compared exactly.
+     *
+     * @param firstName The first name of the guest.
+     * @param lastName  The last name of the guest.
+     * @return A new list of the guest's stays; empty if the guest has none.
+     */
+    public synchronized List<GuestStay> findByGuest(String firstName, String lastName) {
+        List<GuestStay> stays = staysByGuest.get(guestKey(firstName, lastName));
+        return stays == null ? new ArrayList<>() : new ArrayList<>(stays);
+    }
+
+    /**
+     * Returns the stays of all guests whose last name starts with the given prefix, ignoring case and accents.
+     * Stays are ordered by last name and, for the same last name, by check-in date.
+     *
+     * @param lastNamePrefix The beginning of the last name; an empty prefix matches every guest.
+     * @return A new list of matching stays; empty if there are none.
+     */
+    public synchronized List<GuestStay> findByLastNamePrefix(String lastNamePrefix) {
+        String prefix = normalize(lastNamePrefix);
+        List<GuestStay> result = new ArrayList<>();
+        String upperBound = prefixUpperBound(prefix);
+        if (upperBound == null) {
+            // only an empty prefix or one made of U+FFFF has no upper bound; walk the whole map
+            staysByLastName.forEach((lastName, stays) -> {
+                if (lastName.startsWith(prefix)) {
+                    result.addAll(stays);
+                }
+            });
+        } else {
+            staysByLastName.subMap(prefix, upperBound).forEach((lastName, stays) -> result.addAll(stays));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the smallest string greater than every string starting with the prefix,
+     * or null if there is none.
+     */
+    static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+    /**
+     * Returns the number of indexed stays.
+     *
+     * @return The number of stays.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Adds the stay to the list under the key, keeping the list in order of check-in. New stays are
+     * usually the latest ones, so the insertion point is searched from the end.
+     */
+    private static void addStay(Map<String, List<GuestStay>> index, String key, GuestStay stay) {
+        List<GuestStay> stays = index.get(key);
+        if (stays == null) {
+            stays = new ArrayList<>();
+            index.put(key, stays);
+        }
+        int checkIn = stay.getPeriod().getCheckInEpochDay();
+        int position = stays.size();
+        while (position > 0 && stays.get(position - 1).getPeriod().getCheckInEpochDay() > checkIn) {
+            position--;
+        }
+        stays.add(position, stay);
+    }
+
+    private static boolean removeStay(Map<String, List<GuestStay>> index, String key, GuestStay stay) {
+        List<GuestStay> stays = index.get(key);
+        if (stays == null || !stays.remove(stay)) {
+            return false;
+        }
+        if (stays.isEmpty()) {
+            index.remove(key);
+        }
+        return true;
+    }
+
+    private static String guestKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    /**
+     * Brings a name to the form used as the index key: trimmed, in lower case and without accents.
+     *
+     * @param name The name to be normalized; may be null.
+     * @return The normalized name, or an empty string if the name is null.
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
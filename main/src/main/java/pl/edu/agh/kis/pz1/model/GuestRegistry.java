@@ -0,0 +1,72 @@
+package pl.edu.agh.kis.pz1.model;
+
+import pl.edu.agh.kis.pz1.MyMap;
+
+/**
+ * The GuestRegistry class keeps a single shared instance of every distinct guest and of every distinct
+ * name string. Guests loaded from many reservations or checked in repeatedly then point to the same
+ * Guest object and the same name strings, so the heap holds each guest once and two references to the
+ * same guest can be compared with ==.
+ *
+ * Guests obtained from the registry are shared and must not be modified through their setters.
+ * All methods are synchronized, so the registry may be used by several threads.
+ */
+public class GuestRegistry {
+    private final MyMap<String, String> names = new MyMap<>();
+    private final MyMap<Guest, Guest> guests = new MyMap<>();
+
+    /**
+     * Returns the shared guest with the given names and main guest status, registering a new one
+     * if no such guest has been seen yet.
+     *
+     * @param firstName   The first name of the guest.
+     * @param lastName    The last name of the guest.
+     * @param isMainGuest Whether the guest is the main guest of a reservation.
+     * @return The shared Guest instance.
+     */
+    public synchronized Guest intern(String firstName, String lastName, boolean isMainGuest) {
+        Guest candidate = new Guest(internName(firstName), internName(lastName), isMainGuest);
+        Guest existing = guests.get(candidate);
+        if (existing != null) {
+            return existing;
+        }
+        guests.put(candidate, candidate);
+        return candidate;
+    }
+
+    /**
+     * Returns the shared instance of the given name string.
+     *
+     * @param name The name to be interned; may be null.
+     * @return The shared string equal to the name, or null if the name is null.
+     */
+    public synchronized String internName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String existing = names.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        names.put(name, name);
+        return name;
+    }
+
+    /**
+     * Returns the number of distinct guests in the registry.
+     *
+     * @return The number of guests.
+     */
+    public synchronized int size() {
+        return guests.size();
+    }
+
+    /**
+     * Returns the number of distinct name strings in the registry.
+     *
+     * @return The number of names.
+     */
+    public synchronized int namesCount() {
+        return names.size();
+    }
+}
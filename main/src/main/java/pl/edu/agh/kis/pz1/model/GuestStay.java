@@ -0,0 +1,65 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Objects;
+
+/**
+ * The GuestStay class records that a guest stays in a room for a reservation period.
+ * Instances are immutable.
+ */
+public final class GuestStay {
+    private final Guest guest;
+    private final int roomNumber;
+    private final ReservationPeriod period;
+
+    /**
+     * Constructs a GuestStay for the given guest, room and period.
+     *
+     * @param guest      The guest.
+     * @param roomNumber The number of the room.
+     * @param period     The period of the stay.
+     */
+    public GuestStay(Guest guest, int roomNumber, ReservationPeriod period) {
+        this.guest = guest;
+        this.roomNumber = roomNumber;
+        this.period = period;
+    }
+
+    /**
+     * @return The guest.
+     */
+    public Guest getGuest() {
+        return guest;
+    }
+
+    /**
+     * @return The number of the room.
+     */
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    /**
+     * @return The period of the stay.
+     */
+    public ReservationPeriod getPeriod() {
+        return period;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GuestStay that = (GuestStay) o;
+        return roomNumber == that.roomNumber && Objects.equals(guest, that.guest) && Objects.equals(period, that.period);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(guest, roomNumber, period);
+    }
+
+    @Override
+    public String toString() {
+        return guest.getFirstName() + " " + guest.getLastName() + " in room " + roomNumber + " " + period;
+    }
+}
@@ -1,17 +1,84 @@
 package pl.edu.agh.kis.pz1.model;
 
-import pl.edu.agh.kis.pz1.MyMap;
+import pl.edu.agh.kis.pz1.IntObjectMap;
+import pl.edu.agh.kis.pz1.PersistentMyMap;
+import pl.edu.agh.kis.pz1.SortedMyMap;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * The Hotel class represents a hotel with a specific number of floors and rooms.
- * It maintains a map of room numbers to Room objects.
+ * It maintains a map of room numbers to Room objects, keyed by the primitive room number
+ * so that looking up a room never boxes the number. Rooms are additionally indexed in ascending
+ * order of their numbers, which answers floor and number-range queries without scanning every room,
+ * and in a persistent map of immutable {@link RoomSnapshot}s, which is updated on every booking and from which
+ * a consistent snapshot of all rooms and their reservations is taken in O(1) time.
+ * A capacity index groups rooms by the number of guests they hold, so availability searches only
+ * visit rooms that are large enough and check each of them against its sorted reservations.
+ * A guest index listens to the reservations of every room and finds guests by the beginning of their last name,
+ * as well as the full history of stays of a single guest.
  */
 public class Hotel {
     private int floorsCount;
     private int roomsCount;
-    private MyMap<Integer, Room> rooms;
+    private IntObjectMap<Room> rooms;
+    private SortedMyMap<Integer, Room> roomsByNumber;
+    private PersistentMyMap<Integer, RoomSnapshot> roomsVersion;
+    // the reservations booking each night, keyed by its epoch day and then by room number
+    private IntObjectMap<SortedMyMap<Integer, Reservation>> bookingsByNight;
+    // guards roomsVersion and bookingsByNight, which are updated by bookings of different rooms at the same time
+    private Object versionLock = new Object();
+    private SortedMyMap<Integer, List<Room>> roomsByCapacity;
+    private GuestRegistry guestRegistry = new GuestRegistry();
+    private GuestIndex guestIndex;
+    private List<ReservationListener> reservationListeners = new CopyOnWriteArrayList<>();
+    // attached to every room; forwards its reservation changes to the registered listeners, which may reject
+    // them, and only then to the snapshot and guest indexes, so a rejected change never reaches the indexes
+    private final ReservationListener roomListener = new ReservationListener() {
+        @Override
+        public void reservationAdded(Room room, Reservation reservation) {
+            notifyListeners(listener -> listener.reservationAdded(room, reservation),
+                    listener -> listener.reservationRemoved(room, reservation));
+            indexAdded(room, reservation);
+        }
+
+        @Override
+        public void reservationRemoved(Room room, Reservation reservation) {
+            notifyListeners(listener -> listener.reservationRemoved(room, reservation),
+                    listener -> listener.reservationAdded(room, reservation));
+            synchronized (versionLock) {
+                roomsVersion.put(room.getNumber(), roomsVersion.get(room.getNumber()).withoutReservation(reservation));
+                ReservationPeriod period = reservation.getPeriod();
+                for (int night = period.getCheckInEpochDay(); night < period.getCheckOutEpochDay(); night++) {
+                    SortedMyMap<Integer, Reservation> booked = bookingsByNight.get(night);
+                    booked.remove(room.getNumber());
+                    if (booked.isEmpty()) {
+                        bookingsByNight.remove(night);
+                    }
+                }
+            }
+            guestIndex.reservationRemoved(room, reservation);
+        }
+
+        @Override
+        public void reservationsAdded(List<Room> group, List<Reservation> reservations) {
+            notifyListeners(listener -> listener.reservationsAdded(group, reservations), listener -> {
+                for (int i = group.size() - 1; i >= 0; i--) {
+                    listener.reservationRemoved(group.get(i), reservations.get(i));
+                }
+            });
+            for (int i = 0; i < group.size(); i++) {
+                indexAdded(group.get(i), reservations.get(i));
+            }
+        }
+    };
 
     /**
      * Default constructor for the Hotel class.
@@ -24,11 +91,18 @@ public class Hotel {
     public Hotel() {
         this.floorsCount = 0;
         this.roomsCount = 0;
-        this.rooms = new MyMap<>();
+        this.rooms = new IntObjectMap<>();
+        this.roomsByNumber = new SortedMyMap<>();
+        this.roomsVersion = new PersistentMyMap<>();
+        this.bookingsByNight = new IntObjectMap<>();
+        this.roomsByCapacity = new SortedMyMap<>();
+        this.guestIndex = new GuestIndex();
     }
 
     /**
      * Copy constructor that creates a new Hotel object based on an existing one.
+     * The new hotel shares the rooms and indexes of the existing one, so changes made through either
+     * are visible in both; use {@link #snapshotRooms()} for a view that does not change.
      *
      * @param hotel the Hotel object from which field values are copied.
      */
@@ -36,6 +110,14 @@ public class Hotel {
         this.floorsCount = hotel.floorsCount;
         this.roomsCount = hotel.roomsCount;
         this.rooms = hotel.rooms;
+        this.roomsByNumber = hotel.roomsByNumber;
+        this.roomsVersion = hotel.roomsVersion;
+        this.bookingsByNight = hotel.bookingsByNight;
+        this.versionLock = hotel.versionLock;
+        this.roomsByCapacity = hotel.roomsByCapacity;
+        this.guestRegistry = hotel.guestRegistry;
+        this.guestIndex = hotel.guestIndex;
+        this.reservationListeners = hotel.reservationListeners;
     }
 
     /**
@@ -45,18 +127,19 @@ public class Hotel {
      * @param roomsCount  The number of rooms in the hotel.
      * @param rooms       A map of room numbers to Room objects.
      */
-    public Hotel(int floorsCount, int roomsCount, MyMap<Integer, Room> rooms) {
+    public Hotel(int floorsCount, int roomsCount, IntObjectMap<Room> rooms) {
         this.floorsCount = floorsCount;
         this.roomsCount = roomsCount;
         this.rooms = rooms;
+        indexRooms();
     }
 
     /**
      * Returns the map of room numbers to Room objects.
      *
-     * @return A MyMap object containing the room mappings.
+     * @return An IntObjectMap object containing the room mappings.
      */
-    public MyMap<Integer, Room> getRooms() {
+    public IntObjectMap<Room> getRooms() {
         return rooms;
     }
 
@@ -73,10 +156,11 @@ public class Hotel {
     /**
      * Sets the map of room numbers to Room objects.
      *
-     * @param rooms A new MyMap object containing the room mappings.
+     * @param rooms A new IntObjectMap object containing the room mappings.
      */
-    public void setRooms(MyMap<Integer, Room> rooms) {
+    public void setRooms(IntObjectMap<Room> rooms) {
         this.rooms = rooms;
+        indexRooms();
     }
 
     /**
@@ -108,6 +192,81 @@ public class Hotel {
         return rooms.get(roomNumber);
     }
 
+    /**
+     * Returns the registry of guests, which shares one Guest instance per distinct guest of the hotel.
+     *
+     * @return The guest registry of the hotel.
+     */
+    public GuestRegistry getGuestRegistry() {
+        return guestRegistry;
+    }
+
+    /**
+     * Finds the stays of guests whose last name starts with the given prefix, ignoring case and accents.
+     * The search costs O(log n + k) for n distinct last names and k matching stays.
+     *
+     * @param lastNamePrefix The beginning of the last name; an empty prefix matches every guest.
+     * @return The matching stays, ordered by last name; empty if there are none.
+     */
+    public List<GuestStay> findGuests(String lastNamePrefix) {
+        return guestIndex.findByLastNamePrefix(lastNamePrefix);
+    }
+
+    /**
+     * Returns every past and future stay of the guest with the given names, in order of check-in.
+     * Stays as the main guest and as an additional guest are both included. The lookup costs O(k)
+     * for k stays of the guest.
+     *
+     * @param firstName The first name of the guest.
+     * @param lastName  The last name of the guest.
+     * @return The guest's stays; empty if the guest has none.
+     */
+    public List<GuestStay> getGuestHistory(String firstName, String lastName) {
+        return guestIndex.findByGuest(firstName, lastName);
+    }
+
+    /**
+     * Registers a listener notified of every reservation stored in or removed from any room of the hotel,
+     * including rooms added later. Reservations the rooms already have are not reported.
+     *
+     * @param listener The listener to be registered.
+     */
+    public void addReservationListener(ReservationListener listener) {
+        reservationListeners.add(listener);
+    }
+
+    /**
+     * Copies the rooms and their reservations as they are at a single instant. The reservation locks of
+     * all rooms are held in ascending order of room numbers while the copy is taken, so no booking is
+     * half-visible, and the given action runs at that instant, before any further booking can happen.
+     * The copy has no current guests and shares the Guest objects with this hotel.
+     *
+     * @param atCopy The action to run while every room is locked; it must not book or cancel reservations.
+     * @return A new hotel holding copies of the rooms in the same order.
+     */
+    public Hotel copyReservations(Runnable atCopy) {
+        List<Room> byNumber = new ArrayList<>(roomsByNumber.getValues());
+        List<Room> copies = new ArrayList<>(byNumber.size());
+        int locked = 0;
+        try {
+            for (Room room : byNumber) {
+                room.reservationLock().readLock().lock();
+                locked++;
+            }
+            atCopy.run();
+            for (Room room : rooms.getValues()) {
+                copies.add(room.copyWithReservations());
+            }
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                byNumber.get(i).reservationLock().readLock().unlock();
+            }
+        }
+        Hotel copy = new Hotel();
+        copy.addRooms(copies);
+        return copy;
+    }
+
     /**
      * Returns the number of floors in the hotel.
      *
@@ -135,14 +294,299 @@ public class Hotel {
      */
     public void addRoom(Room room) {
         int roomNr = room.getNumber();
-        if (rooms.get(roomNr) != null) {
+        if (rooms.containsKey(roomNr)) {
             return;
         }
         rooms.put(roomNr, room);
+        roomsByNumber.put(roomNr, room);
+        synchronized (versionLock) {
+            roomsVersion.put(roomNr, RoomSnapshot.empty(room));
+        }
+        indexCapacity(room);
+        attach(room);
         roomsCount++;
         int roomLevel = room.level();
         if (roomLevel > this.floorsCount) {
             this.floorsCount = roomLevel;
         }
     }
+
+    /**
+     * Adds many rooms at once. The room map is grown a single time for all of them before they are inserted,
+     * so loading n rooms takes linear time instead of repeatedly resizing the map. Rooms whose numbers are
+     * already taken, either in the hotel or earlier in the collection, are skipped just like in addRoom.
+     *
+     * @param newRooms The rooms to be added to the hotel.
+     */
+    public void addRooms(Collection<Room> newRooms) {
+        rooms.ensureCapacity((int) Math.min((long) rooms.size() + newRooms.size(), Integer.MAX_VALUE - 8));
+        for (Room room : newRooms) {
+            addRoom(room);
+        }
+    }
+
+    /**
+     * Returns the rooms located on the given floor, in ascending order of their numbers.
+     * The lookup costs O(log n + k) for k rooms on the floor.
+     *
+     * @param floor The floor number, as returned by {@link Room#level()}.
+     * @return The list of rooms on that floor; empty if there are none.
+     */
+    public List<Room> getRoomsOnFloor(int floor) {
+        return getRoomsInRange(floor * 100, floor * 100 + 99);
+    }
+
+    /**
+     * Returns the rooms whose numbers lie between the given numbers, both inclusive,
+     * in ascending order of their numbers. The lookup costs O(log n + k) for k matching rooms.
+     *
+     * @param fromNumber The lowest room number of the range.
+     * @param toNumber   The highest room number of the range.
+     * @return The list of matching rooms; empty if there are none or the range is empty.
+     */
+    public List<Room> getRoomsInRange(int fromNumber, int toNumber) {
+        List<Room> result = new ArrayList<>();
+        if (fromNumber > toNumber) {
+            return result;
+        }
+        boolean endsAtMaxNumber = toNumber == Integer.MAX_VALUE;
+        roomsByNumber.subMap(fromNumber, endsAtMaxNumber ? toNumber : toNumber + 1)
+                .forEach((number, room) -> result.add(room));
+        if (endsAtMaxNumber && roomsByNumber.get(toNumber) != null) {
+            result.add(roomsByNumber.get(toNumber));
+        }
+        return result;
+    }
+
+    /**
+     * Returns an immutable snapshot of all rooms and their reservations in O(1) time. The snapshot shares
+     * its structure with the hotel's own index and does not change when rooms are added or booked later,
+     * so it can be handed to long-running reports while the hotel keeps being updated. Every booking is
+     * either fully contained in the snapshot or not at all.
+     *
+     * @return An immutable map of room numbers to room snapshots.
+     */
+    public PersistentMyMap<Integer, RoomSnapshot> snapshotRooms() {
+        synchronized (versionLock) {
+            return roomsVersion.snapshot();
+        }
+    }
+
+    /**
+     * Books the given room for the period if it is free. Bookings lock only the room being booked,
+     * so threads booking different rooms proceed in parallel, and two threads booking the same room
+     * for overlapping periods never both succeed. Rooms must not be added to the hotel while other
+     * threads are booking.
+     *
+     * @param roomNumber   The number of the room to book.
+     * @param guests       The guests of the reservation.
+     * @param checkInDate  The first night of the stay.
+     * @param checkOutDate The day of departure, after the check-in date.
+     * @return true if the room was booked, false if it is already booked for part of the period.
+     * @throws IllegalArgumentException if there is no such room or the check-out date is not after the check-in date.
+     */
+    public boolean reserve(int roomNumber, List<Guest> guests, LocalDate checkInDate, LocalDate checkOutDate) {
+        Room room = rooms.get(roomNumber);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found: " + roomNumber);
+        }
+        return room.addReservation(guests, checkInDate, checkOutDate);
+    }
+
+    /**
+     * Books several rooms for the same period as a single all-or-nothing operation. The write locks
+     * of all rooms are taken in ascending order of room numbers, which keeps concurrent group bookings
+     * from deadlocking, then every room is checked in one pass. Only if all of them are free are the
+     * reservations stored; otherwise nothing is booked and the conflicting rooms are reported.
+     * Listeners are told about the whole group at once, so a journal makes it durable with a single flush.
+     *
+     * @param guestsByRoom The guests of each reservation, keyed by the number of the room to book.
+     * @param checkInDate  The first night of the stay.
+     * @param checkOutDate The day of departure, after the check-in date.
+     * @return The numbers of the rooms already booked for part of the period, in ascending order;
+     *         empty if all rooms were booked.
+     * @throws IllegalArgumentException if a room does not exist or the check-out date is not after the check-in date.
+     * @throws RuntimeException         if a listener rejects the booking; then no room is booked.
+     */
+    public List<Integer> reserveGroup(IntObjectMap<List<Guest>> guestsByRoom, LocalDate checkInDate,
+                                      LocalDate checkOutDate) {
+        ReservationPeriod period = new ReservationPeriod(checkInDate, checkOutDate);
+        int[] numbers = new int[guestsByRoom.size()];
+        IntObjectMap<List<Guest>>.Cursor cursor = guestsByRoom.cursor();
+        for (int i = 0; cursor.advance(); i++) {
+            numbers[i] = cursor.intKey();
+        }
+        Arrays.sort(numbers);
+        Room[] group = new Room[numbers.length];
+        Reservation[] reservations = new Reservation[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            group[i] = rooms.get(numbers[i]);
+            if (group[i] == null) {
+                throw new IllegalArgumentException("Room not found: " + numbers[i]);
+            }
+            reservations[i] = new Reservation(guestsByRoom.get(numbers[i]), period);
+        }
+
+        int locked = 0;
+        try {
+            for (Room room : group) {
+                room.reservationLock().writeLock().lock();
+                locked++;
+            }
+            List<Integer> conflicts = new ArrayList<>();
+            for (Room room : group) {
+                if (!room.isFree(period)) {
+                    conflicts.add(room.getNumber());
+                }
+            }
+            if (conflicts.isEmpty()) {
+                for (int i = 0; i < group.length; i++) {
+                    group[i].storeReservation(reservations[i]);
+                }
+                try {
+                    roomListener.reservationsAdded(Arrays.asList(group), Arrays.asList(reservations));
+                } catch (RuntimeException e) {
+                    for (int i = 0; i < group.length; i++) {
+                        group[i].unstoreReservation(reservations[i]);
+                    }
+                    throw e;
+                }
+            }
+            return conflicts;
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                group[i].reservationLock().writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the state of the hotel on the given date, past or future: the reservation booking the
+     * night starting on that date, for every room that is booked. The bookings are kept in an index
+     * keyed by night, so the query costs one lookup plus O(k log k) for k booked rooms, however many
+     * rooms the hotel has. The index holds one entry per booked night of every reservation.
+     *
+     * @param date The date of the night.
+     * @return A new map from the numbers of the booked rooms to their reservations, in ascending order of
+     *         room numbers; rooms that are free that night are absent.
+     */
+    public SortedMyMap<Integer, Reservation> getOccupancyOn(LocalDate date) {
+        SortedMyMap<Integer, Reservation> result = new SortedMyMap<>();
+        synchronized (versionLock) {
+            SortedMyMap<Integer, Reservation> booked = bookingsByNight.get(Math.toIntExact(date.toEpochDay()));
+            if (booked != null) {
+                booked.forEach(result::put);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the rooms that can hold at least the given number of guests and have no reservation
+     * overlapping the period from check-in to check-out. Only rooms large enough are visited, each
+     * costing O(log r) for r reservations of the room.
+     *
+     * @param checkInDate  The first night of the requested stay.
+     * @param checkOutDate The day of departure, after the check-in date.
+     * @param minCapacity  The number of guests the room must hold.
+     * @return The list of matching rooms in ascending order of their numbers; empty if there are none.
+     * @throws IllegalArgumentException if the check-out date is not after the check-in date.
+     */
+    public List<Room> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, int minCapacity) {
+        ReservationPeriod period = new ReservationPeriod(checkInDate, checkOutDate);
+        List<Room> result = new ArrayList<>();
+        SortedMyMap.Entry<Integer, List<Room>> entry = roomsByCapacity.ceilingEntry(minCapacity);
+        while (entry != null) {
+            for (Room room : entry.getValue()) {
+                if (room.isAvailable(period)) {
+                    result.add(room);
+                }
+            }
+            entry = roomsByCapacity.higherEntry(entry.getKey());
+        }
+        result.sort(Comparator.comparingInt(Room::getNumber));
+        return result;
+    }
+
+    /**
+     * Sends a change to every registered listener. If one of them rejects it, the listeners notified
+     * before are told to undo it, as far as they can, and the exception is rethrown.
+     */
+    private void notifyListeners(Consumer<ReservationListener> change, Consumer<ReservationListener> undo) {
+        List<ReservationListener> notified = new ArrayList<>();
+        try {
+            for (ReservationListener listener : reservationListeners) {
+                change.accept(listener);
+                notified.add(listener);
+            }
+        } catch (RuntimeException e) {
+            for (int i = notified.size() - 1; i >= 0; i--) {
+                try {
+                    undo.accept(notified.get(i));
+                } catch (RuntimeException undoFailure) {
+                    e.addSuppressed(undoFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void indexAdded(Room room, Reservation reservation) {
+        synchronized (versionLock) {
+            roomsVersion.put(room.getNumber(), roomsVersion.get(room.getNumber()).withReservation(reservation));
+            ReservationPeriod period = reservation.getPeriod();
+            for (int night = period.getCheckInEpochDay(); night < period.getCheckOutEpochDay(); night++) {
+                SortedMyMap<Integer, Reservation> booked = bookingsByNight.get(night);
+                if (booked == null) {
+                    booked = new SortedMyMap<>();
+                    bookingsByNight.put(night, booked);
+                }
+                booked.put(room.getNumber(), reservation);
+            }
+        }
+        guestIndex.reservationAdded(room, reservation);
+    }
+
+    /**
+     * Rebuilds the ordered, persistent, night, capacity and guest indexes from the rooms map.
+     */
+    private void indexRooms() {
+        roomsByNumber = new SortedMyMap<>();
+        roomsVersion = new PersistentMyMap<>();
+        bookingsByNight = new IntObjectMap<>();
+        roomsByCapacity = new SortedMyMap<>();
+        guestIndex = new GuestIndex();
+        for (Room room : rooms.getValues()) {
+            roomsByNumber.put(room.getNumber(), room);
+            roomsVersion.put(room.getNumber(), RoomSnapshot.empty(room));
+            indexCapacity(room);
+            attach(room);
+        }
+    }
+
+    /**
+     * Attaches the room listener and indexes the reservations the room already has. They go straight
+     * to the snapshot and guest indexes; the registered listeners are not told about them, since they
+     * are not new bookings.
+     */
+    private void attach(Room room) {
+        room.reservationLock().writeLock().lock();
+        try {
+            room.setReservationListener(roomListener);
+            for (Reservation reservation : room.getReservations()) {
+                indexAdded(room, reservation);
+            }
+        } finally {
+            room.reservationLock().writeLock().unlock();
+        }
+    }
+
+    private void indexCapacity(Room room) {
+        List<Room> sameCapacity = roomsByCapacity.get(room.getCapacity());
+        if (sameCapacity == null) {
+            sameCapacity = new ArrayList<>();
+            roomsByCapacity.put(room.getCapacity(), sameCapacity);
+        }
+        sameCapacity.add(room);
+    }
 }
@@ -3,6 +3,7 @@ package pl.edu.agh.kis.pz1.model;
 import pl.edu.agh.kis.pz1.MyMap;
 import pl.edu.agh.kis.pz1.commands.*;
 
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -31,7 +32,11 @@ public class HotelSystem {
         commands.put("checkin", new CheckinCommand(this.hotel));
         commands.put("checkout", new CheckOutCommand(this.hotel));
         commands.put("list", new ListCommand(this.hotel));
+        commands.put("available", new AvailableCommand(this.hotel));
+        commands.put("find", new FindCommand(this.hotel));
+        commands.put("report", new ReportCommand(this.hotel));
         commands.put("save", new SaveCommand(this.hotel));
+        commands.put("stats", new StatsCommand(this.hotel));
         commands.put("exit", new ExitCommand());
     }
 
@@ -58,16 +63,21 @@ public class HotelSystem {
      * Continuously prompts the user for commands, processes each command,
      * and executes the corresponding action.
      *
-     * Commands are retrieved from the MyMap of commands based on user input.
+     * Commands are retrieved from the MyMap of commands based on the first word of user input;
+     * the remaining words are passed to the command as its arguments.
      * If an invalid command is entered, an error message is displayed.
      *
      * Available commands include:
      * - "prices": Displays room prices.
-     * - "view": Shows room details.
+     * - "view [room] [date]": Shows room details, optionally with the room's state on a date.
      * - "checkin": Checks a guest into a room.
      * - "checkout": Checks a guest out of a room.
-     * - "list": Lists all available rooms.
+     * - "list [date]": Lists all rooms, optionally with their state on a date.
+     * - "available": Finds rooms free in a period for a number of guests.
+     * - "find": Finds guests by the beginning of their last name.
+     * - "report": Shows occupancy and revenue by floor, month and day.
      * - "save": Saves the current hotel data.
+     * - "stats": Shows statistics of the room map.
      * - "exit": Exits the system.
      */
     public void system() {
@@ -76,10 +86,11 @@ public class HotelSystem {
         while (isRunning) {
             try {
                 System.out.print("Enter command: ");
-                String command = sc.nextLine().trim().toLowerCase();
+                String[] words = sc.nextLine().trim().split("\\s+");
+                String command = words[0].toLowerCase();
                 Command cmd = commands.get(command);
                 if (cmd != null) {
-                    cmd.execute();
+                    cmd.execute(Arrays.copyOfRange(words, 1, words.length));
                     if (command.equals("exit")) {
                         isRunning = false;
                     }
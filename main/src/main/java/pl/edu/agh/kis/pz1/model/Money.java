@@ -0,0 +1,144 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The Money class is an amount of money held as a whole number of cents in a single long, so adding
+ * amounts and multiplying them by a number of nights is plain integer arithmetic that allocates nothing
+ * but the result. Amounts up to about 92 quadrillion are represented exactly; arithmetic that would
+ * overflow throws an ArithmeticException instead of wrapping around.
+ *
+ * Converting a decimal amount is exact by default: an amount with a fraction of a cent is rejected
+ * unless a rounding mode is given explicitly. Instances are immutable.
+ */
+public final class Money implements Comparable<Money> {
+    /**
+     * The amount of zero.
+     */
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Returns the amount of the given number of cents.
+     *
+     * @param cents The amount in cents.
+     * @return The amount.
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount exactly, for example 150.0 or 99.99.
+     *
+     * @param amount The decimal amount.
+     * @return The amount.
+     * @throws IllegalArgumentException if the amount has a fraction of a cent or does not fit in a long number of cents.
+     * @throws NullPointerException     if the amount is null.
+     */
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount cannot be represented in whole cents: " + amount, e);
+        }
+    }
+
+    /**
+     * Converts a decimal amount, rounding fractions of a cent with the given rounding mode.
+     *
+     * @param amount   The decimal amount.
+     * @param rounding The rounding mode, for example {@link RoundingMode#HALF_EVEN}.
+     * @return The rounded amount.
+     * @throws IllegalArgumentException if the rounded amount does not fit in a long number of cents.
+     * @throws NullPointerException     if the amount or the rounding mode is null.
+     */
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return of(amount.setScale(SCALE, rounding));
+    }
+
+    /**
+     * Parses a decimal amount exactly, as written in the pricePerNight column of the CSV file.
+     *
+     * @param text The decimal amount, for example "150.0".
+     * @return The amount.
+     * @throws NumberFormatException    if the text is not a decimal number.
+     * @throws IllegalArgumentException if the amount has a fraction of a cent.
+     */
+    public static Money parse(String text) {
+        return of(new BigDecimal(text.trim()));
+    }
+
+    /**
+     * @return The amount in cents.
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Adds the other amount to this one.
+     *
+     * @param other The amount to be added.
+     * @return The sum.
+     * @throws ArithmeticException if the sum overflows.
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * Multiplies this amount by a whole number, for example a number of nights.
+     *
+     * @param factor The number to multiply by.
+     * @return The product.
+     * @throws ArithmeticException if the product overflows.
+     */
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    /**
+     * Converts the amount to a decimal with two digits after the point.
+     *
+     * @return The amount as a BigDecimal.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return cents == ((Money) o).cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Returns the amount with two digits after the point, for example "150.00".
+     *
+     * @return A string representation of the amount.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
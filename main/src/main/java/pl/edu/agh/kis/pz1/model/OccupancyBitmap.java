@@ -0,0 +1,226 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.BitSet;
+
+/**
+ * The OccupancyBitmap class records which nights of a room are booked, as one bit per day counted
+ * from the epoch (see {@link java.time.LocalDate#toEpochDay()}). Bits are packed into an array of
+ * longs that only covers the span of days that has ever been booked and grows on demand, so years
+ * of reservations take a few kilobytes per room.
+ *
+ * Range queries work on whole words at a time: checking whether a stay is free, counting booked
+ * nights and finding the next booked night are masked ANDs, population counts and trailing-zero
+ * counts rather than walks over reservation objects. All ranges are half-open, from the first
+ * night up to but excluding the day of departure.
+ */
+public class OccupancyBitmap {
+    /**
+     * Returned by {@link #findFreeRun(int, int, int)} when no run of free nights exists.
+     */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private static final int WORD_BITS = 64;
+    private static final int ADDRESS_BITS = 6;
+    private static final long[] NO_WORDS = new long[0];
+
+    private long[] words = NO_WORDS;
+    // index of the word stored in words[0], where word w covers days w * 64 to w * 64 + 63
+    private int firstWord;
+
+    /**
+     * Marks the nights of the given range as booked.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     */
+    public void set(int fromDay, int toDay) {
+        if (fromDay >= toDay) {
+            return;
+        }
+        int fromWord = fromDay >> ADDRESS_BITS;
+        int toWord = (toDay - 1) >> ADDRESS_BITS;
+        ensureCovers(fromWord, toWord);
+        for (int w = fromWord; w <= toWord; w++) {
+            words[w - firstWord] |= mask(w, fromWord, toWord, fromDay, toDay);
+        }
+    }
+
+    /**
+     * Marks the nights of the given range as free.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     */
+    public void clear(int fromDay, int toDay) {
+        if (fromDay >= toDay) {
+            return;
+        }
+        int fromWord = Math.max(fromDay >> ADDRESS_BITS, firstWord);
+        int toWord = Math.min((toDay - 1) >> ADDRESS_BITS, lastWord());
+        for (int w = fromWord; w <= toWord; w++) {
+            words[w - firstWord] &= ~mask(w, fromDay >> ADDRESS_BITS, (toDay - 1) >> ADDRESS_BITS, fromDay, toDay);
+        }
+    }
+
+    /**
+     * Checks whether the given night is booked.
+     *
+     * @param day The night, in epoch days.
+     * @return true if the night is booked, false otherwise.
+     */
+    public boolean get(int day) {
+        int w = day >> ADDRESS_BITS;
+        if (w < firstWord || w > lastWord()) {
+            return false;
+        }
+        return (words[w - firstWord] & (1L << day)) != 0;
+    }
+
+    /**
+     * Checks whether every night of the given range is free.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     * @return true if no night of the range is booked, false otherwise.
+     */
+    public boolean isClear(int fromDay, int toDay) {
+        return nextSetDay(fromDay, toDay) == toDay;
+    }
+
+    /**
+     * Counts the booked nights of the given range.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     * @return The number of booked nights.
+     */
+    public int cardinality(int fromDay, int toDay) {
+        if (fromDay >= toDay) {
+            return 0;
+        }
+        int first = fromDay >> ADDRESS_BITS;
+        int last = (toDay - 1) >> ADDRESS_BITS;
+        int count = 0;
+        for (int w = Math.max(first, firstWord); w <= Math.min(last, lastWord()); w++) {
+            count += Long.bitCount(words[w - firstWord] & mask(w, first, last, fromDay, toDay));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first booked night of the given range.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     * @return The first booked night, or toDay if every night of the range is free.
+     */
+    public int nextSetDay(int fromDay, int toDay) {
+        if (fromDay >= toDay) {
+            return toDay;
+        }
+        int first = fromDay >> ADDRESS_BITS;
+        int last = (toDay - 1) >> ADDRESS_BITS;
+        for (int w = Math.max(first, firstWord); w <= Math.min(last, lastWord()); w++) {
+            long bits = words[w - firstWord] & mask(w, first, last, fromDay, toDay);
+            if (bits != 0) {
+                return (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return toDay;
+    }
+
+    /**
+     * Finds the first run of the given number of consecutive free nights that lies within the range.
+     *
+     * @param fromDay The earliest possible first night, in epoch days.
+     * @param toDay   The latest possible day of departure, in epoch days.
+     * @param nights  The number of consecutive nights, at least 1.
+     * @return The first night of the run, or {@link #NOT_FOUND} if there is no such run.
+     * @throws IllegalArgumentException if the number of nights is not positive.
+     */
+    public int findFreeRun(int fromDay, int toDay, int nights) {
+        if (nights <= 0) {
+            throw new IllegalArgumentException("Number of nights must be positive: " + nights);
+        }
+        long start = fromDay;
+        while (start + nights <= toDay) {
+            int runEnd = (int) (start + nights);
+            int booked = nextSetDay((int) start, runEnd);
+            if (booked == runEnd) {
+                return (int) start;
+            }
+            start = booked + 1L;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Copies the booked nights of the given range into a BitSet, where bit i stands for the night fromDay + i.
+     *
+     * @param fromDay The first night, in epoch days.
+     * @param toDay   The day of departure, in epoch days.
+     * @return A new BitSet of the booked nights of the range.
+     */
+    public BitSet toBitSet(int fromDay, int toDay) {
+        BitSet result = new BitSet();
+        if (fromDay >= toDay) {
+            return result;
+        }
+        int first = fromDay >> ADDRESS_BITS;
+        int last = (toDay - 1) >> ADDRESS_BITS;
+        for (int w = Math.max(first, firstWord); w <= Math.min(last, lastWord()); w++) {
+            long bits = words[w - firstWord] & mask(w, first, last, fromDay, toDay);
+            while (bits != 0) {
+                int day = (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+                result.set(day - fromDay);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    private int lastWord() {
+        return firstWord + words.length - 1;
+    }
+
+    /**
+     * Returns the bits of word w that fall within the day range, given the first and last words of the range.
+     */
+    private static long mask(int w, int first, int last, int fromDay, int toDay) {
+        long mask = -1L;
+        if (w == first) {
+            mask &= -1L << fromDay;
+        }
+        if (w == last) {
+            mask &= -1L >>> (WORD_BITS - 1 - ((toDay - 1) & (WORD_BITS - 1)));
+        }
+        return mask;
+    }
+
+    /**
+     * Grows the word array so that it covers the given words, keeping some slack for later growth.
+     */
+    private void ensureCovers(int fromWord, int toWord) {
+        if (words.length == 0) {
+            words = new long[toWord - fromWord + 1];
+            firstWord = fromWord;
+            return;
+        }
+        int newFirst = Math.min(fromWord, firstWord);
+        int newLast = Math.max(toWord, lastWord());
+        if (newFirst == firstWord && newLast == lastWord()) {
+            return;
+        }
+        int slack = words.length >> 1;
+        if (newFirst < firstWord) {
+            newFirst = (int) Math.max((long) newFirst - slack, Integer.MIN_VALUE >> ADDRESS_BITS);
+        }
+        if (newLast > lastWord()) {
+            newLast = (int) Math.min((long) newLast + slack, Integer.MAX_VALUE >> ADDRESS_BITS);
+        }
+        long[] grown = new long[newLast - newFirst + 1];
+        System.arraycopy(words, 0, grown, firstWord - newFirst, words.length);
+        words = grown;
+        firstWord = newFirst;
+    }
+}
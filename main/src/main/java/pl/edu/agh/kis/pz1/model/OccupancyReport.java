@@ -0,0 +1,271 @@
+package pl.edu.agh.kis.pz1.model;
+
+import pl.edu.agh.kis.pz1.SortedMyMap;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The OccupancyReport class sums up how well the hotel is booked over a period: the share of room-nights
+ * that are booked and the revenue they bring, for the whole hotel and broken down by floor, by month and
+ * by day. Revenue counts every booked night of the period at the room's price per night, summed as whole
+ * cents in a long, so aggregating millions of room-nights allocates no decimal objects.
+ *
+ * The report is computed from a {@link Hotel#snapshotRooms() snapshot} of the rooms, so it describes the
+ * hotel at a single moment and never blocks bookings, however long it takes. Rooms are aggregated with a
+ * parallel stream. Every worker sums the booked nights of its rooms into its own partial totals, which are
+ * merged at the end, so the report scales across cores for large hotels and horizons of many years.
+ * Reports are immutable once generated.
+ */
+public final class OccupancyReport {
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+    private final Totals total;
+    private final SortedMyMap<Integer, Totals> floors;
+    private final SortedMyMap<YearMonth, Totals> months;
+    private final Totals[] days;
+
+    private OccupancyReport(LocalDate fromDate, LocalDate toDate, Partial partial) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.total = partial.total;
+        this.floors = partial.floors;
+        this.days = partial.days;
+        this.months = new SortedMyMap<>();
+        for (int i = 0; i < partial.months.length; i++) {
+            months.put(YearMonth.from(fromDate).plusMonths(i), partial.months[i]);
+        }
+    }
+
+    /**
+     * Generates the report for the rooms of the hotel over the period from the first night up to
+     * but excluding the end date.
+     *
+     * @param hotel    The hotel to report on.
+     * @param fromDate The first night of the period.
+     * @param toDate   The day after the last night of the period.
+     * @return The generated report.
+     * @throws IllegalArgumentException if the end date is not after the start date.
+     */
+    public static OccupancyReport generate(Hotel hotel, LocalDate fromDate, LocalDate toDate) {
+        if (!toDate.isAfter(fromDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        int dayCount = Math.toIntExact(ChronoUnit.DAYS.between(fromDate, toDate));
+        int[] monthStarts = monthStarts(fromDate, toDate, dayCount);
+        List<RoomSnapshot> rooms = hotel.snapshotRooms().getValues();
+        Partial partial = rooms.parallelStream().collect(
+                () -> new Partial(fromDate, toDate, monthStarts),
+                Partial::add,
+                Partial::merge);
+        return new OccupancyReport(fromDate, toDate, partial);
+    }
+
+    /**
+     * Returns the offsets from the start date at which each month of the period begins, followed by the length of the period.
+     */
+    private static int[] monthStarts(LocalDate fromDate, LocalDate toDate, int dayCount) {
+        YearMonth first = YearMonth.from(fromDate);
+        int monthCount = Math.toIntExact(ChronoUnit.MONTHS.between(first, YearMonth.from(toDate.minusDays(1)))) + 1;
+        int[] starts = new int[monthCount + 1];
+        for (int i = 1; i < monthCount; i++) {
+            starts[i] = Math.toIntExact(ChronoUnit.DAYS.between(fromDate, first.plusMonths(i).atDay(1)));
+        }
+        starts[monthCount] = dayCount;
+        return starts;
+    }
+
+    /**
+     * @return The first night of the period.
+     */
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * @return The day after the last night of the period.
+     */
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    /**
+     * @return The totals of the whole hotel.
+     */
+    public Totals getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the floors that have rooms, in ascending order.
+     *
+     * @return A new list of floor numbers.
+     */
+    public List<Integer> getFloors() {
+        return floors.keys();
+    }
+
+    /**
+     * Returns the totals of the given floor.
+     *
+     * @param floor The floor number, as returned by {@link RoomSnapshot#level()}.
+     * @return The totals of the floor, or null if the hotel has no rooms on it.
+     */
+    public Totals getFloor(int floor) {
+        return floors.get(floor);
+    }
+
+    /**
+     * Returns the months the period touches, in chronological order.
+     *
+     * @return A new list of months.
+     */
+    public List<YearMonth> getMonths() {
+        return months.keys();
+    }
+
+    /**
+     * Returns the totals of the part of the period that falls in the given month.
+     *
+     * @param month The month.
+     * @return The totals of the month, or null if the period does not touch it.
+     */
+    public Totals getMonth(YearMonth month) {
+        return months.get(month);
+    }
+
+    /**
+     * Returns the totals of the night starting on the given date.
+     *
+     * @param date The date of the night.
+     * @return The totals of the night, or null if the date lies outside the period.
+     */
+    public Totals getDay(LocalDate date) {
+        long offset = ChronoUnit.DAYS.between(fromDate, date);
+        return offset < 0 || offset >= days.length ? null : days[(int) offset];
+    }
+
+    /**
+     * The Totals class holds the booked and available room-nights and the revenue of one part of the report.
+     */
+    public static final class Totals {
+        private long roomNights;
+        private long bookedNights;
+        private long revenueCents;
+
+        private void add(long availableNights, long booked, long priceCents) {
+            roomNights += availableNights;
+            bookedNights += booked;
+            revenueCents = Math.addExact(revenueCents, Math.multiplyExact(priceCents, booked));
+        }
+
+        private void merge(Totals other) {
+            roomNights += other.roomNights;
+            bookedNights += other.bookedNights;
+            revenueCents = Math.addExact(revenueCents, other.revenueCents);
+        }
+
+        /**
+         * @return The number of room-nights that could be sold, that is rooms times nights.
+         */
+        public long getRoomNights() {
+            return roomNights;
+        }
+
+        /**
+         * @return The number of booked room-nights.
+         */
+        public long getBookedNights() {
+            return bookedNights;
+        }
+
+        /**
+         * @return The revenue of the booked room-nights.
+         */
+        public Money getRevenue() {
+            return Money.ofCents(revenueCents);
+        }
+
+        /**
+         * @return The percentage of room-nights that are booked, or 0 if there are none.
+         */
+        public double getOccupancyRate() {
+            return roomNights == 0 ? 0.0 : 100.0 * bookedNights / roomNights;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.1f%% occupied, %d of %d room-nights booked, revenue %s$",
+                    getOccupancyRate(), bookedNights, roomNights, getRevenue());
+        }
+    }
+
+    /**
+     * The totals gathered by one worker of the parallel aggregation.
+     */
+    private static final class Partial {
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+        private final int[] monthStarts;
+        private final Totals total = new Totals();
+        private final SortedMyMap<Integer, Totals> floors = new SortedMyMap<>();
+        private final Totals[] months;
+        private final Totals[] days;
+
+        Partial(LocalDate fromDate, LocalDate toDate, int[] monthStarts) {
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+            this.monthStarts = monthStarts;
+            this.months = newTotals(monthStarts.length - 1);
+            this.days = newTotals(monthStarts[monthStarts.length - 1]);
+        }
+
+        void add(RoomSnapshot room) {
+            BitSet booked = room.getBookedNights(fromDate, toDate);
+            long price = room.getPrice().getCents();
+            int bookedCount = booked.cardinality();
+            total.add(days.length, bookedCount, price);
+            floor(room.level()).add(days.length, bookedCount, price);
+            for (int i = 0; i < months.length; i++) {
+                int start = monthStarts[i];
+                int end = monthStarts[i + 1];
+                months[i].add(end - start, booked.get(start, end).cardinality(), price);
+            }
+            for (int i = 0; i < days.length; i++) {
+                days[i].add(1, booked.get(i) ? 1 : 0, price);
+            }
+        }
+
+        void merge(Partial other) {
+            total.merge(other.total);
+            other.floors.forEach((level, totals) -> floor(level).merge(totals));
+            for (int i = 0; i < months.length; i++) {
+                months[i].merge(other.months[i]);
+            }
+            for (int i = 0; i < days.length; i++) {
+                days[i].merge(other.days[i]);
+            }
+        }
+
+        private Totals floor(int level) {
+            Totals totals = floors.get(level);
+            if (totals == null) {
+                totals = new Totals();
+                floors.put(level, totals);
+            }
+            return totals;
+        }
+
+        private static Totals[] newTotals(int length) {
+            Totals[] totals = new Totals[length];
+            for (int i = 0; i < length; i++) {
+                totals[i] = new Totals();
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.List;
+
+/**
+ * The ReservationListener interface is notified whenever a reservation is stored in or removed from a room.
+ * Notifications are sent while the room's reservation lock is held, so other operations on the room wait
+ * for the listeners, which must not call back into the reservation methods of the room.
+ *
+ * A listener may reject a change by throwing an unchecked exception, for example when the change cannot be
+ * saved. The room then undoes the change and the exception reaches the caller that made it.
+ */
+public interface ReservationListener {
+
+    /**
+     * Called after a reservation has been stored in the room.
+     *
+     * @param room        The room that was booked.
+     * @param reservation The stored reservation.
+     */
+    void reservationAdded(Room room, Reservation reservation);
+
+    /**
+     * Called after a reservation has been removed from the room.
+     *
+     * @param room        The room the reservation belonged to.
+     * @param reservation The removed reservation.
+     */
+    void reservationRemoved(Room room, Reservation reservation);
+
+    /**
+     * Called once after the reservations of a group booking have been stored, all of them for the same
+     * period and in ascending order of room numbers. Listeners that save changes can override it to make
+     * the whole group durable at once; by default each reservation is reported separately.
+     *
+     * @param rooms        The rooms that were booked.
+     * @param reservations The stored reservations, one for each room.
+     */
+    default void reservationsAdded(List<Room> rooms, List<Reservation> reservations) {
+        for (int i = 0; i < rooms.size(); i++) {
+            reservationAdded(rooms.get(i), reservations.get(i));
+        }
+    }
+}
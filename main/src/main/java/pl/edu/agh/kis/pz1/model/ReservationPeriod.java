@@ -5,10 +5,14 @@ import java.time.LocalDate;
 /**
  * The ReservationPeriod class represents a period of reservation with check-in and check-out dates.
  * Provides functionality to determine if two reservation periods overlap.
+ *
+ * Dates are stored as primitive epoch days (days since 1970-01-01, see {@link LocalDate#toEpochDay()}),
+ * so a period takes two ints instead of two LocalDate objects and overlap checks are plain integer
+ * comparisons. LocalDate getters are kept for display and create the date when called.
  */
 public class ReservationPeriod {
-    private LocalDate checkInDate;
-    private LocalDate checkOutDate;
+    private final int checkInDay;
+    private final int checkOutDay;
 
     /**
      * Creates a new ReservationPeriod with specified check-in and check-out dates.
@@ -23,8 +27,22 @@ public class ReservationPeriod {
         if (!checkInDate.isBefore(checkOutDate)) {
             throw new IllegalArgumentException("Check-in date must be before check-out date");
         }
-        this.checkInDate = checkInDate;
-        this.checkOutDate = checkOutDate;
+        this.checkInDay = Math.toIntExact(checkInDate.toEpochDay());
+        this.checkOutDay = Math.toIntExact(checkOutDate.toEpochDay());
+    }
+
+    /**
+     * Creates a new ReservationPeriod from check-in and check-out dates given as epoch days.
+     *
+     * @param checkInDay  the check-in date, in days since 1970-01-01
+     * @param checkOutDay the check-out date, in days since 1970-01-01
+     */
+    public ReservationPeriod(int checkInDay, int checkOutDay) {
+        if (checkInDay >= checkOutDay) {
+            throw new IllegalArgumentException("Check-in date must be before check-out date");
+        }
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
     }
 
     /**
@@ -33,7 +51,7 @@ public class ReservationPeriod {
      * @return the check-in date
      */
     public LocalDate getCheckInDate() {
-        return checkInDate;
+        return LocalDate.ofEpochDay(checkInDay);
     }
 
     /**
@@ -42,7 +60,44 @@ public class ReservationPeriod {
      * @return the check-out date
      */
     public LocalDate getCheckOutDate() {
-        return checkOutDate;
+        return LocalDate.ofEpochDay(checkOutDay);
+    }
+
+    /**
+     * Returns the check-in date of the reservation period as an epoch day.
+     *
+     * @return the check-in date, in days since 1970-01-01
+     */
+    public int getCheckInEpochDay() {
+        return checkInDay;
+    }
+
+    /**
+     * Returns the check-out date of the reservation period as an epoch day.
+     *
+     * @return the check-out date, in days since 1970-01-01
+     */
+    public int getCheckOutEpochDay() {
+        return checkOutDay;
+    }
+
+    /**
+     * Returns the number of nights of the reservation period.
+     *
+     * @return the number of days between check-in and check-out
+     */
+    public int getNights() {
+        return checkOutDay - checkInDay;
+    }
+
+    /**
+     * Checks if the given epoch day lies within the period, counting both the check-in and the check-out day.
+     *
+     * @param epochDay the day to check, in days since 1970-01-01
+     * @return true if the day is between check-in and check-out inclusive, false otherwise
+     */
+    public boolean contains(int epochDay) {
+        return checkInDay <= epochDay && epochDay <= checkOutDay;
     }
 
     /**
@@ -54,7 +109,7 @@ public class ReservationPeriod {
      * @return true if the periods overlap, false otherwise
      */
     public boolean overlapsWith(ReservationPeriod other) {
-        return (checkInDate.isBefore(other.getCheckOutDate()) && checkOutDate.isAfter(other.getCheckInDate()));
+        return checkInDay < other.checkOutDay && checkOutDay > other.checkInDay;
     }
 
     /**
@@ -72,21 +127,18 @@ public class ReservationPeriod {
 
         ReservationPeriod that = (ReservationPeriod) o;
 
-        if (!checkInDate.equals(that.checkInDate)) return false;
-        return checkOutDate.equals(that.checkOutDate);
+        return checkInDay == that.checkInDay && checkOutDay == that.checkOutDay;
     }
 
     /**
      * Generates a hash code for this reservation period based on the check-in and check-out dates.
-     * The hash code is computed using the hash codes of the dates and a prime multiplier.
+     * The hash code is computed from the epoch days and a prime multiplier.
      *
      * @return the hash code for this reservation period
      */
     @Override
     public int hashCode() {
-        int result = checkInDate.hashCode();
-        result = 31 * result + checkOutDate.hashCode();
-        return result;
+        return 31 * checkInDay + checkOutDay;
     }
 
     /**
@@ -97,6 +149,6 @@ public class ReservationPeriod {
      */
     @Override
     public String toString() {
-        return "from " + checkInDate.toString() + " to " + checkOutDate.toString();
+        return "from " + getCheckInDate() + " to " + getCheckOutDate();
     }
 }
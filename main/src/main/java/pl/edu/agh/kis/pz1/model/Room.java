@@ -1,25 +1,48 @@
 package pl.edu.agh.kis.pz1.model;
 
+import pl.edu.agh.kis.pz1.SortedMyMap;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The Room class represents a hotel room, including information about room number,
  * price per night, capacity, occupancy status, and guest details.
+ *
+ * The price per night is stored only as a Money amount in whole cents, which billing and reports use for
+ * allocation-free arithmetic, so prices must be whole cents. The number of decimal places the price was
+ * given with is remembered as well, so it is displayed and saved to the CSV file exactly as it was read.
+ *
+ * Reservations of the room never overlap, so they are kept as a sorted set of disjoint intervals
+ * keyed by the check-in epoch day, which makes insertion and removal O(log n) in the number of reservations.
+ * Booked nights are also recorded in an occupancy bitmap, which answers availability, booked-night
+ * counts and searches for free nights with word-wide bit operations instead of walking reservations.
+ *
+ * The reservation methods are safe to call from many threads. Each room has its own read-write lock,
+ * so the conflict check and the insertion of a booking happen atomically, while bookings of different
+ * rooms never wait for each other and availability queries of one room run in parallel. The remaining
+ * fields of the room (current guests and occupancy status) are not guarded.
  */
 public class Room {
     private int number;
-    private BigDecimal pricePerNight;
+    private Money price;
+    // decimal places of the price as given, e.g. 1 for "150.0"; used only to format it
+    private int priceScale;
     private int capacity;
     private boolean isOccupied;
     private List<Guest> guests;
     private LocalDate checkInDate;
     private LocalDate plannedCheckOutDate;
     private String description;
-    private List<Reservation> reservations;
+    private SortedMyMap<Integer, Reservation> reservations;
+    private OccupancyBitmap occupancy;
+    private final ReentrantReadWriteLock reservationLock = new ReentrantReadWriteLock();
+    private ReservationListener reservationListener;
 
     /**
      * Constructor initializing all attributes of the room.
@@ -32,18 +55,20 @@ public class Room {
      * @param guests              List of guests checked into the room
      * @param plannedCheckOutDate Planned check-out date
      * @param description         Room description
+     * @throws IllegalArgumentException if the price has a fraction of a cent
      */
     public Room(int number, BigDecimal pricePerNight, int capacity, LocalDate checkInDate, boolean isOccupied,
                 List<Guest> guests, LocalDate plannedCheckOutDate, String description) {
         this.number = number;
-        this.pricePerNight = pricePerNight;
+        setPrice(pricePerNight);
         this.capacity = capacity;
         this.checkInDate = checkInDate;
         this.isOccupied = isOccupied;
         this.guests = guests;
         this.plannedCheckOutDate = plannedCheckOutDate;
         this.description = description;
-        this.reservations = new ArrayList<>();
+        this.reservations = new SortedMyMap<>();
+        this.occupancy = new OccupancyBitmap();
     }
 
     /**
@@ -53,17 +78,19 @@ public class Room {
      * @param pricePerNight Price per night
      * @param capacity      Room capacity (number of guests)
      * @param description   Room description
+     * @throws IllegalArgumentException if the price has a fraction of a cent
      */
     public Room(int number, BigDecimal pricePerNight, int capacity, String description) {
         this.number = number;
-        this.pricePerNight = pricePerNight;
+        setPrice(pricePerNight);
         this.capacity = capacity;
         this.description = description;
         this.isOccupied = false;
         this.guests = new ArrayList<>();
         this.checkInDate = null;
         this.plannedCheckOutDate = null;
-        this.reservations = new ArrayList<>();
+        this.reservations = new SortedMyMap<>();
+        this.occupancy = new OccupancyBitmap();
     }
 
     /**
@@ -74,10 +101,17 @@ public class Room {
     }
 
     /**
-     * @return Price per night.
+     * @return Price per night, with as many decimal places as it was given with.
      */
     public BigDecimal getPricePerNight() {
-        return pricePerNight;
+        return price == null ? null : price.toBigDecimal().setScale(priceScale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * @return Price per night in whole cents.
+     */
+    public Money getPrice() {
+        return price;
     }
 
     /**
@@ -123,10 +157,15 @@ public class Room {
     }
 
     /**
-     * @return List of reservations.
+     * @return Read-only snapshot of the reservations, ordered by check-in date.
      */
     public List<Reservation> getReservations() {
-        return reservations;
+        reservationLock.readLock().lock();
+        try {
+            return List.copyOf(reservations.getValues());
+        } finally {
+            reservationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -192,15 +231,298 @@ public class Room {
      */
     public boolean addReservation(List<Guest> guests, LocalDate checkInDate, LocalDate checkOutDate) {
         ReservationPeriod newPeriod = new ReservationPeriod(checkInDate, checkOutDate);
+        return addReservation(new Reservation(guests, newPeriod));
+    }
 
-        for (Reservation reservation : reservations) {
-            if (reservation.getPeriod().overlapsWith(newPeriod)) {
+    /**
+     * Adds an existing reservation to the room if it does not overlap with existing reservations.
+     *
+     * @param reservation the reservation to be added
+     * @return true if the reservation was successfully added, false if there was a conflict
+     */
+    public boolean addReservation(Reservation reservation) {
+        ReservationPeriod period = reservation.getPeriod();
+        reservationLock.writeLock().lock();
+        try {
+            if (!isFree(period)) {
                 return false;
             }
+            insertReservation(reservation);
+            return true;
+        } finally {
+            reservationLock.writeLock().unlock();
         }
+    }
 
-        reservations.add(new Reservation(guests, newPeriod));
-        return true;
+    /**
+     * Removes the reservation with the same period as the given one.
+     *
+     * @param reservation the reservation to be removed
+     * @return true if the reservation was found and removed, false otherwise
+     */
+    public boolean removeReservation(Reservation reservation) {
+        ReservationPeriod period = reservation.getPeriod();
+        reservationLock.writeLock().lock();
+        try {
+            Reservation existing = reservations.get(period.getCheckInEpochDay());
+            if (existing == null || !existing.getPeriod().equals(period)) {
+                return false;
+            }
+            deleteReservation(existing);
+            return true;
+        } finally {
+            reservationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the reservation whose stay includes the given date, counting both the check-in and the
+     * check-out day. On a day when one stay ends and the next one begins, the departing stay is returned.
+     * The lookup costs O(log n) in the number of reservations.
+     *
+     * @param date the date to look up
+     * @return the reservation covering the date, or null if there is none
+     */
+    public Reservation findReservationOn(LocalDate date) {
+        reservationLock.readLock().lock();
+        try {
+            return reservationOn(epochDay(date));
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the reservation that books the night starting on the given date, so on a day when one stay
+     * ends and the next one begins, the arriving stay is returned. The lookup costs O(log n) in the number
+     * of reservations.
+     *
+     * @param date the date of the night
+     * @return the reservation booking that night, or null if the night is free
+     */
+    public Reservation findReservationForNight(LocalDate date) {
+        int day = epochDay(date);
+        reservationLock.readLock().lock();
+        try {
+            SortedMyMap.Entry<Integer, Reservation> entry = reservations.floorEntry(day);
+            if (entry != null && day < entry.getValue().getPeriod().getCheckOutEpochDay()) {
+                return entry.getValue();
+            }
+            return null;
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the reservation whose stay includes the given date, as found by findReservationOn.
+     * The lookup and the removal happen atomically and cost O(log n) in the number of reservations.
+     *
+     * @param date the date to look up
+     * @return the removed reservation, or null if no reservation covers the date
+     */
+    public Reservation removeReservationOn(LocalDate date) {
+        reservationLock.writeLock().lock();
+        try {
+            Reservation reservation = reservationOn(epochDay(date));
+            if (reservation != null) {
+                deleteReservation(reservation);
+            }
+            return reservation;
+        } finally {
+            reservationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the room is free for the whole given period.
+     *
+     * @param period the period to check
+     * @return true if no reservation overlaps the period, false otherwise
+     */
+    public boolean isAvailable(ReservationPeriod period) {
+        reservationLock.readLock().lock();
+        try {
+            return isFree(period);
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the night starting on the given date is booked.
+     *
+     * @param date the date of the night
+     * @return true if a reservation covers that night, false otherwise
+     */
+    public boolean isBookedOn(LocalDate date) {
+        reservationLock.readLock().lock();
+        try {
+            return occupancy.get(epochDay(date));
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the booked nights between the given dates.
+     *
+     * @param fromDate the first night to count
+     * @param toDate   the day after the last night to count
+     * @return the number of booked nights
+     */
+    public int countBookedNights(LocalDate fromDate, LocalDate toDate) {
+        reservationLock.readLock().lock();
+        try {
+            return occupancy.cardinality(epochDay(fromDate), epochDay(toDate));
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the earliest stay of the given number of consecutive free nights between the given dates.
+     *
+     * @param fromDate the earliest possible check-in date
+     * @param toDate   the latest possible check-out date
+     * @param nights   the number of nights, at least 1
+     * @return the check-in date of the earliest such stay, or null if the room has none
+     * @throws IllegalArgumentException if the number of nights is not positive
+     */
+    public LocalDate findFreeNights(LocalDate fromDate, LocalDate toDate, int nights) {
+        int start;
+        reservationLock.readLock().lock();
+        try {
+            start = occupancy.findFreeRun(epochDay(fromDate), epochDay(toDate), nights);
+        } finally {
+            reservationLock.readLock().unlock();
+        }
+        return start == OccupancyBitmap.NOT_FOUND ? null : LocalDate.ofEpochDay(start);
+    }
+
+    /**
+     * Returns the lock guarding the reservations of this room, so that a booking spanning several
+     * rooms can hold all their write locks at once.
+     *
+     * @return the reservation lock of this room
+     */
+    ReentrantReadWriteLock reservationLock() {
+        return reservationLock;
+    }
+
+    /**
+     * Sets the listener notified of every reservation stored in or removed from this room, replacing
+     * the previous one. Reservations the room already has are not reported; a caller that needs them
+     * reads them while holding the write lock, so no booking is missed or reported twice.
+     *
+     * @param listener the listener, or null to stop notifications
+     */
+    void setReservationListener(ReservationListener listener) {
+        reservationLock.writeLock().lock();
+        try {
+            reservationListener = listener;
+        } finally {
+            reservationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a new room with the same number, price, capacity, description and reservations, without
+     * current guests or a listener. Must be called with the reservation lock held.
+     *
+     * @return the copy of this room
+     */
+    Room copyWithReservations() {
+        Room copy = new Room(number, getPricePerNight(), capacity, description);
+        for (Reservation reservation : reservations.getValues()) {
+            copy.insertReservation(reservation);
+        }
+        return copy;
+    }
+
+    /**
+     * Checks the period against the occupancy bitmap. Must be called with the reservation lock held.
+     *
+     * @param period the period to check
+     * @return true if no reservation overlaps the period, false otherwise
+     */
+    boolean isFree(ReservationPeriod period) {
+        return occupancy.isClear(period.getCheckInEpochDay(), period.getCheckOutEpochDay());
+    }
+
+    /**
+     * Looks up the reservation covering the date. Must be called with the reservation lock held.
+     */
+    private Reservation reservationOn(int day) {
+        SortedMyMap.Entry<Integer, Reservation> earlier = reservations.lowerEntry(day);
+        if (earlier != null && earlier.getValue().getPeriod().contains(day)) {
+            return earlier.getValue();
+        }
+        return reservations.get(day);
+    }
+
+    /**
+     * Stores a reservation already checked with isFree and notifies the listener. If the listener
+     * rejects the change by throwing, the reservation is taken out again and the exception is rethrown.
+     * Must be called with the write lock held.
+     *
+     * @param reservation the reservation to be stored
+     */
+    void insertReservation(Reservation reservation) {
+        storeReservation(reservation);
+        if (reservationListener != null) {
+            try {
+                reservationListener.reservationAdded(this, reservation);
+            } catch (RuntimeException e) {
+                unstoreReservation(reservation);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Deletes a stored reservation and notifies the listener. If the listener rejects the change by
+     * throwing, the reservation is put back and the exception is rethrown. Must be called with the write lock held.
+     */
+    private void deleteReservation(Reservation reservation) {
+        unstoreReservation(reservation);
+        if (reservationListener != null) {
+            try {
+                reservationListener.reservationRemoved(this, reservation);
+            } catch (RuntimeException e) {
+                storeReservation(reservation);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Puts a reservation into the sorted reservations and the occupancy bitmap without notifying the listener.
+     * Must be called with the write lock held.
+     */
+    void storeReservation(Reservation reservation) {
+        ReservationPeriod period = reservation.getPeriod();
+        reservations.put(period.getCheckInEpochDay(), reservation);
+        occupancy.set(period.getCheckInEpochDay(), period.getCheckOutEpochDay());
+    }
+
+    /**
+     * Takes a reservation out of the sorted reservations and the occupancy bitmap without notifying the listener.
+     * Must be called with the write lock held.
+     */
+    void unstoreReservation(Reservation reservation) {
+        ReservationPeriod period = reservation.getPeriod();
+        reservations.remove(period.getCheckInEpochDay());
+        occupancy.clear(period.getCheckInEpochDay(), period.getCheckOutEpochDay());
+    }
+
+    private void setPrice(BigDecimal pricePerNight) {
+        this.price = pricePerNight == null ? null : Money.of(pricePerNight);
+        this.priceScale = pricePerNight == null ? 0 : Math.max(pricePerNight.scale(), 0);
+    }
+
+    private static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
     }
 
     /**
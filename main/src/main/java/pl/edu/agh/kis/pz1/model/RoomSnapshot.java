@@ -0,0 +1,114 @@
+package pl.edu.agh.kis.pz1.model;
+
+import pl.edu.agh.kis.pz1.PersistentMyMap;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The RoomSnapshot class is an immutable state of a room at one moment: its number, capacity and price
+ * together with its reservations. Reservations are held in a persistent map keyed by the check-in epoch day,
+ * so recording a booking creates a new snapshot that shares all but O(log32 n) nodes with the previous one.
+ *
+ * Snapshots are kept up to date by the {@link Hotel} and handed out by {@link Hotel#snapshotRooms()},
+ * so a long-running report reads a state of every room that does not change while bookings continue.
+ */
+public final class RoomSnapshot {
+    private final int number;
+    private final int capacity;
+    private final Money price;
+    private final PersistentMyMap<Integer, Reservation> reservations;
+
+    private RoomSnapshot(int number, int capacity, Money price, PersistentMyMap<Integer, Reservation> reservations) {
+        this.number = number;
+        this.capacity = capacity;
+        this.price = price;
+        this.reservations = reservations;
+    }
+
+    /**
+     * Returns the snapshot of a room without reservations; the hotel adds them as it indexes the room.
+     *
+     * @param room The room.
+     * @return The snapshot of the room.
+     */
+    static RoomSnapshot empty(Room room) {
+        return new RoomSnapshot(room.getNumber(), room.getCapacity(), room.getPrice(),
+                new PersistentMyMap<Integer, Reservation>().snapshot());
+    }
+
+    /**
+     * @return A snapshot with the given reservation added.
+     */
+    RoomSnapshot withReservation(Reservation reservation) {
+        return new RoomSnapshot(number, capacity, price,
+                reservations.with(reservation.getPeriod().getCheckInEpochDay(), reservation));
+    }
+
+    /**
+     * @return A snapshot with the given reservation removed.
+     */
+    RoomSnapshot withoutReservation(Reservation reservation) {
+        return new RoomSnapshot(number, capacity, price,
+                reservations.without(reservation.getPeriod().getCheckInEpochDay()));
+    }
+
+    /**
+     * @return Room number.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * @return Room capacity (number of guests).
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Price per night.
+     */
+    public Money getPrice() {
+        return price;
+    }
+
+    /**
+     * @return Floor number for this room.
+     */
+    public int level() {
+        return number / 100;
+    }
+
+    /**
+     * Returns the reservations of the room, in no particular order.
+     *
+     * @return A new list of reservations.
+     */
+    public List<Reservation> getReservations() {
+        return reservations.getValues();
+    }
+
+    /**
+     * Returns the booked nights between the given dates.
+     *
+     * @param fromDate the first night to include
+     * @param toDate   the day after the last night to include
+     * @return a new BitSet where bit i is set if the night fromDate + i days is booked
+     */
+    public BitSet getBookedNights(LocalDate fromDate, LocalDate toDate) {
+        long fromDay = fromDate.toEpochDay();
+        long toDay = toDate.toEpochDay();
+        BitSet result = new BitSet();
+        reservations.forEach((checkIn, reservation) -> {
+            long start = Math.max(checkIn, fromDay);
+            long end = Math.min(reservation.getPeriod().getCheckOutEpochDay(), toDay);
+            if (start < end) {
+                result.set((int) (start - fromDay), (int) (end - fromDay));
+            }
+        });
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package pl.edu.agh.kis.pz1;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pl.edu.agh.kis.pz1.model.Guest;
+import pl.edu.agh.kis.pz1.model.GuestStay;
 import pl.edu.agh.kis.pz1.model.Hotel;
 import pl.edu.agh.kis.pz1.model.Reservation;
 import pl.edu.agh.kis.pz1.model.Room;
@@ -51,14 +52,15 @@ class CsvReaderTest {
         assertEquals("Standard Room", room101.getDescription(), "Room 101 description should be 'Standard Room'");
         assertEquals(2, room101.getReservations().size(), "Room 101 should have 2 reservations");
 
-        Reservation reservation1 = room101.getReservations().get(0);
+        // reservations are ordered by check-in date, not by their position in the file
+        Reservation reservation1 = room101.getReservations().get(1);
         assertEquals(LocalDate.of(2024, 11, 15), reservation1.getPeriod().getCheckInDate(), "Check-in date should be 2024-11-15");
         assertEquals(LocalDate.of(2024, 11, 19), reservation1.getPeriod().getCheckOutDate(), "Check-out date should be 2024-11-19");
         List<Guest> guests1 = reservation1.getGuests();
         assertEquals(1, guests1.size(), "There should be 1 guest in the first reservation");
         assertEquals("Kowalski", guests1.get(0).getLastName(), "First guest's last name should be Kowalski");
 
-        Reservation reservation2 = room101.getReservations().get(1);
+        Reservation reservation2 = room101.getReservations().get(0);
         assertEquals(LocalDate.of(2024, 11, 5), reservation2.getPeriod().getCheckInDate(), "Check-in date should be 2024-11-05");
         assertEquals(LocalDate.of(2024, 11, 9), reservation2.getPeriod().getCheckOutDate(), "Check-out date should be 2024-11-09");
         List<Guest> guests2 = reservation2.getGuests();
@@ -242,6 +244,65 @@ class CsvReaderTest {
         }
     }
 
+    /**
+     * Test that a guest appearing in several reservations is read as a single shared instance.
+     */
+    @Test
+    void testReadCSV_SharesRepeatGuests() {
+        String csvContent = "roomNumber,pricePerNight,capacity,description,level,checkInDates,checkOutDates,guests\n" +
+                "112,180.0,2,Standard Room,1,2024-11-15;2024-11-20,2024-11-16;2024-11-21,<Anna Nowak>;<Anna Nowak>\n" +
+                "113,180.0,2,Standard Room,1,2024-12-01,2024-12-03,<Anna Nowak - Jan Nowak>";
+
+        InputStream testInputStream = new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(CsvReader.readCSV(hotel, testInputStream), "The readCSV method should return true");
+
+        Guest first = hotel.getRoomByNumber(112).getReservations().get(0).getGuests().get(0);
+        Guest second = hotel.getRoomByNumber(112).getReservations().get(1).getGuests().get(0);
+        List<Guest> group = hotel.getRoomByNumber(113).getReservations().get(0).getGuests();
+        assertSame(first, second, "Repeat guest should be the same instance");
+        assertSame(first, group.get(0), "Repeat guest should be shared between rooms");
+        assertSame(first.getLastName(), group.get(1).getLastName(), "Equal last names should be the same string");
+        assertEquals(2, hotel.getGuestRegistry().size(), "Registry should hold two distinct guests");
+    }
+
+    /**
+     * Test that reservations loaded from CSV make up the history of each guest.
+     */
+    @Test
+    void testReadCSV_BuildsGuestHistory() {
+        String csvContent = "roomNumber,pricePerNight,capacity,description,level,checkInDates,checkOutDates,guests\n" +
+                "114,180.0,2,Standard Room,1,2024-12-20;2024-11-15,2024-12-22;2024-11-16,<Anna Nowak>;<Anna Nowak>\n" +
+                "115,180.0,2,Standard Room,1,2024-12-01,2024-12-03,<Jan Nowak - Anna Nowak>";
+
+        InputStream testInputStream = new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(CsvReader.readCSV(hotel, testInputStream), "The readCSV method should return true");
+
+        List<GuestStay> history = hotel.getGuestHistory("Anna", "Nowak");
+        assertEquals(3, history.size(), "Anna Nowak should have three stays");
+        assertEquals(LocalDate.of(2024, 11, 15), history.get(0).getPeriod().getCheckInDate());
+        assertEquals(115, history.get(1).getRoomNumber());
+        assertEquals(LocalDate.of(2024, 12, 20), history.get(2).getPeriod().getCheckInDate());
+        assertEquals(1, hotel.getGuestHistory("Jan", "Nowak").size(), "Jan Nowak should have one stay");
+    }
+
+    /**
+     * Test that prices are read exactly and a price with a fraction of a cent is rejected.
+     */
+    @Test
+    void testReadCSV_PricesInWholeCents() {
+        String csvContent = "roomNumber,pricePerNight,capacity,description,level,checkInDates,checkOutDates,guests\n" +
+                "116,180.5,2,Standard Room,1,,,\n" +
+                "117,180.555,2,Standard Room,1,,,";
+
+        InputStream testInputStream = new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(CsvReader.readCSV(hotel, testInputStream), "The readCSV method should return true");
+        assertEquals(18050, hotel.getRoomByNumber(116).getPrice().getCents(), "Price should be read exactly");
+        assertNull(hotel.getRoomByNumber(117), "Room with a fraction of a cent in its price should be skipped");
+    }
+
     /**
      * Test reading CSV data with special characters in guest names.
      */
@@ -263,4 +324,23 @@ class CsvReaderTest {
         assertNotNull(reservation, "Reservation should not be null");
 
     }
+
+    /**
+     * Test that a reservation overlapping an earlier one from the same line is skipped.
+     */
+    @Test
+    void testReadCSV_WithOverlappingReservations() {
+        String csvContent = "roomNumber,pricePerNight,capacity,description,level,checkInDates,checkOutDates,guests\n" +
+                "112,180.0,2,Standard Room,1,2024-11-15;2024-11-17,2024-11-19;2024-11-20,<Guest A>;<Guest B>";
+
+        InputStream testInputStream = new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8));
+
+        boolean result = CsvReader.readCSV(hotel, testInputStream);
+        assertTrue(result, "The readCSV method should return true");
+
+        Room room112 = hotel.getRoomByNumber(112);
+        assertEquals(1, room112.getReservations().size(), "The overlapping reservation should be skipped");
+        assertEquals("A", room112.getReservations().get(0).getGuests().get(0).getLastName(),
+                "The first reservation of the line should be kept");
+    }
 }
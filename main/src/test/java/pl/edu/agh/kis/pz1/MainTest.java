@@ -1,8 +1,10 @@
 package pl.edu.agh.kis.pz1;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.*;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -90,4 +92,44 @@ class MainTest {
 
         assertTrue(output.contains("Enter command:"), "The output should prompt for command input");
     }
+
+    /**
+     * Test that words after the command name are passed to the command as arguments.
+     */
+    @Test
+    void testMainMethodWithCommandArguments() {
+        String simulatedInput = "VIEW 101 2000-01-01\nexit\n";
+        provideInput(simulatedInput);
+
+        Main.main(new String[]{});
+
+        String output = getOutput();
+
+        assertTrue(output.contains("Room number: 101"), "The room number should be taken from the arguments");
+        assertTrue(output.contains("The room is free on 2000-01-01."), "The date should be taken from the arguments");
+        assertFalse(output.contains("Invalid command"), "Command with arguments should be recognized");
+    }
+
+    /**
+     * Test that the main method restores the hotel from a journal directory and records changes in it.
+     */
+    @Test
+    void testMainMethodWithJournal(@TempDir Path directory) {
+        provideInput("exit\n");
+
+        Main.main(new String[]{"--journal=" + directory});
+
+        assertTrue(getOutput().contains("Replayed 0 journal events"), "The journal should be replayed at startup");
+        assertTrue(directory.toFile().isDirectory(), "The journal directory should exist");
+    }
+
+    /**
+     * Test that the main method rejects an unknown durability mode before starting.
+     */
+    @Test
+    void testMainMethodWithUnknownDurability(@TempDir Path directory) {
+        Main.main(new String[]{"--journal=" + directory, "--durability=never"});
+
+        assertTrue(getOutput().contains("Unknown durability mode: never"), "The mode should be rejected");
+    }
 }
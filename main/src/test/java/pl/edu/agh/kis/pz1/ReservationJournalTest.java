@@ -0,0 +1,300 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import pl.edu.agh.kis.pz1.model.Guest;
+import pl.edu.agh.kis.pz1.model.Hotel;
+import pl.edu.agh.kis.pz1.model.Reservation;
+import pl.edu.agh.kis.pz1.model.Room;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationJournalTest {
+
+    private static final LocalDate JUNE_10 = LocalDate.of(2024, 6, 10);
+    private static final LocalDate JUNE_12 = LocalDate.of(2024, 6, 12);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes an initial snapshot with two empty rooms, so the tests do not depend on the bundled CSV file.
+     */
+    @BeforeEach
+    void setUp() {
+        Hotel initial = new Hotel();
+        initial.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        initial.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+        assertTrue(CsvWriter.writeCSV(initial, directory.resolve("snapshot-0.csv").toFile()));
+    }
+
+    private Hotel reopen() {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel), "Journal should open");
+        journal.close();
+        return hotel;
+    }
+
+    @Test
+    void testChangesSurviveRestart() throws IOException {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+
+        assertTrue(hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12));
+        assertTrue(hotel.reserve(102, List.of(new Guest("Anna", "Nowak", true), new Guest("Piotr", "Nowak", false)),
+                JUNE_10, JUNE_12.plusDays(1)));
+        journal.close();
+
+        assertEquals(2, Files.readAllLines(directory.resolve("journal-0.log")).size(), "Every event should be one line");
+        Hotel restored = reopen();
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size());
+        List<Guest> guests = restored.getRoomByNumber(102).getReservations().get(0).getGuests();
+        assertEquals("Piotr", guests.get(1).getFirstName(), "Guests should be restored");
+        assertEquals(JUNE_12.plusDays(1), restored.getRoomByNumber(102).getReservations().get(0).getPeriod().getCheckOutDate());
+    }
+
+    @Test
+    void testRemovalIsReplayed() {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+        hotel.reserve(101, List.of(new Guest("Anna", "Nowak", true)), JUNE_12, JUNE_12.plusDays(2));
+
+        Reservation removed = hotel.getRoomByNumber(101).removeReservationOn(JUNE_10.plusDays(1));
+        journal.close();
+
+        assertNotNull(removed);
+        List<Reservation> reservations = reopen().getRoomByNumber(101).getReservations();
+        assertEquals(1, reservations.size(), "Removed reservation should stay removed");
+        assertEquals(JUNE_12, reservations.get(0).getPeriod().getCheckInDate());
+    }
+
+    @Test
+    void testSnapshotStartsNewGeneration() throws IOException {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+
+        assertTrue(journal.snapshot(), "Snapshot should be written");
+        hotel.reserve(102, List.of(new Guest("Anna", "Nowak", true)), JUNE_10, JUNE_12);
+        journal.close();
+
+        assertFalse(Files.exists(directory.resolve("snapshot-0.csv")), "Older snapshot should be deleted");
+        assertFalse(Files.exists(directory.resolve("journal-0.log")), "Older journal should be deleted");
+        assertTrue(Files.exists(directory.resolve("snapshot-1.csv")));
+        assertEquals(1, Files.readAllLines(directory.resolve("journal-1.log")).size(),
+                "Only the event after the snapshot should be replayed");
+        Hotel restored = reopen();
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size());
+        assertEquals(1, restored.getRoomByNumber(102).getReservations().size());
+    }
+
+    @Test
+    void testSnapshotsAreTakenAutomatically() throws IOException {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 3);
+        assertTrue(journal.open(hotel));
+
+        for (int i = 0; i < 10; i++) {
+            LocalDate checkIn = JUNE_10.plusDays(i);
+            hotel.reserve(101 + i % 2, List.of(new Guest("Guest", "No" + i, true)), checkIn, checkIn.plusDays(1));
+        }
+        journal.close();
+
+        assertFalse(Files.exists(directory.resolve("snapshot-0.csv")), "Initial snapshot should have been replaced");
+        Hotel restored = reopen();
+        assertEquals(5, restored.getRoomByNumber(101).getReservations().size());
+        assertEquals(5, restored.getRoomByNumber(102).getReservations().size());
+    }
+
+    @Test
+    void testCorruptLineIsSkipped() throws IOException {
+        Files.write(directory.resolve("journal-0.log"), List.of(
+                "ADD,101,2024-06-10,2024-06-12,<Jan Kowalski>",
+                "ADD,999,2024-06-10,2024-06-12,<Jan Kowalski>",
+                "ADD,102,2024-06-1"));
+
+        Hotel restored = reopen();
+
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size(), "Valid line should be applied");
+        assertTrue(restored.getRoomByNumber(102).getReservations().isEmpty(), "Cut line should be skipped");
+    }
+
+    @ParameterizedTest
+    @EnumSource(DurabilityMode.class)
+    void testEveryDurabilityModeSurvivesRestart(DurabilityMode mode) {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100, mode);
+        assertTrue(journal.open(hotel));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+        journal.close();
+
+        assertEquals(1, reopen().getRoomByNumber(101).getReservations().size());
+    }
+
+    @Test
+    void testRejectsInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationJournal(directory, 0));
+        assertThrows(NullPointerException.class, () -> new ReservationJournal(directory, 10, null));
+    }
+
+    @Test
+    void testGroupBookingIsOneLine() throws IOException {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+        IntObjectMap<List<Guest>> group = new IntObjectMap<>();
+        group.put(102, List.of(new Guest("Anna", "Nowak", true), new Guest("Piotr", "Nowak", false)));
+        group.put(101, List.of(new Guest("Jan", "Kowalski", true)));
+
+        assertTrue(hotel.reserveGroup(group, JUNE_10, JUNE_12).isEmpty());
+        journal.close();
+
+        assertEquals(List.of("GROUP,2024-06-10,2024-06-12,101,<Jan Kowalski>;102,<Anna Nowak-Piotr Nowak>"),
+                Files.readAllLines(directory.resolve("journal-0.log")), "The group should be a single line");
+        Hotel restored = reopen();
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size());
+        assertEquals(2, restored.getRoomByNumber(102).getReservations().get(0).getGuests().size());
+    }
+
+    @Test
+    void testIncompleteLastLineIsCutOff() throws IOException {
+        Files.writeString(directory.resolve("journal-0.log"),
+                "ADD,101,2024-06-10,2024-06-12,<Jan Kowalski>\nADD,102,2024-06-10,2024-06-12,<Anna");
+
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+        hotel.reserve(102, List.of(new Guest("Piotr", "Nowak", true)), JUNE_12, JUNE_12.plusDays(1));
+        journal.close();
+
+        assertEquals(2, Files.readAllLines(directory.resolve("journal-0.log")).size(),
+                "New lines should not be appended to the cut line");
+        Hotel restored = reopen();
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size());
+        assertEquals(JUNE_12, restored.getRoomByNumber(102).getReservations().get(0).getPeriod().getCheckInDate());
+    }
+
+    @Test
+    void testFailedWriteUndoesTheBooking() throws IOException {
+        Hotel hotel = new Hotel();
+        ReservationJournal journal = new ReservationJournal(directory, 100);
+        assertTrue(journal.open(hotel));
+        // a directory in place of the journal file cannot be opened for writing
+        Files.createDirectory(directory.resolve("journal-0.log"));
+
+        assertThrows(UncheckedIOException.class,
+                () -> hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12));
+        assertTrue(hotel.getRoomByNumber(101).getReservations().isEmpty(), "Booking should be undone");
+        journal.close();
+
+        assertTrue(Files.exists(directory.resolve("snapshot-1.csv")), "A snapshot should start a new journal");
+        assertTrue(reopen().getRoomByNumber(101).getReservations().isEmpty(), "Failed booking should not be restored");
+    }
+
+    @Test
+    void testFailedSyncIsCutFromJournal() throws IOException {
+        FailingJournal journal = new FailingJournal();
+        Hotel hotel = new Hotel();
+        assertTrue(journal.open(hotel));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+
+        journal.channel.failForces(1);
+        assertThrows(UncheckedIOException.class,
+                () -> hotel.reserve(102, List.of(new Guest("Anna", "Nowak", true)), JUNE_10, JUNE_12));
+
+        assertTrue(hotel.getRoomByNumber(102).getReservations().isEmpty(), "Booking should be undone");
+        assertEquals(1, Files.readAllLines(directory.resolve("journal-0.log")).size(),
+                "The line of the undone booking should be cut off before any snapshot");
+        Hotel restored = reopen();
+        assertEquals(1, restored.getRoomByNumber(101).getReservations().size());
+        assertTrue(restored.getRoomByNumber(102).getReservations().isEmpty(), "Undone booking should not be replayed");
+        journal.snapshotPermits.release(10);
+        journal.close();
+    }
+
+    @Test
+    void testChangesAreRejectedUntilSnapshotCoversFailure() throws Exception {
+        FailingJournal journal = new FailingJournal();
+        Hotel hotel = new Hotel();
+        assertTrue(journal.open(hotel));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+
+        // the line of the failed booking cannot be cut off, and the first snapshot cannot be written
+        journal.channel.failForces(1);
+        journal.channel.failTruncate();
+        Path blocked = Files.createDirectory(directory.resolve("snapshot-1.csv.tmp"));
+        assertThrows(UncheckedIOException.class,
+                () -> hotel.reserve(102, List.of(new Guest("Anna", "Nowak", true)), JUNE_10, JUNE_12));
+        journal.snapshotPermits.release();
+        assertEquals(Boolean.FALSE, journal.snapshotResults.poll(10, TimeUnit.SECONDS));
+
+        assertThrows(UncheckedIOException.class,
+                () -> hotel.reserve(101, List.of(new Guest("Piotr", "Nowak", true)), JUNE_12, JUNE_12.plusDays(1)),
+                "Changes should be rejected while the failed journal is still needed");
+        assertFalse(Files.exists(directory.resolve("journal-1.log")), "No journal should follow the failed one");
+
+        Files.delete(blocked);
+        journal.snapshotPermits.release();
+        assertEquals(Boolean.TRUE, journal.snapshotResults.poll(10, TimeUnit.SECONDS));
+        assertFalse(Files.exists(directory.resolve("journal-0.log")), "Failed journal should be deleted");
+        assertTrue(hotel.reserve(101, List.of(new Guest("Piotr", "Nowak", true)), JUNE_12, JUNE_12.plusDays(1)),
+                "Changes should be accepted again after the snapshot");
+        journal.snapshotPermits.release(10);
+        journal.close();
+
+        Hotel restored = reopen();
+        assertEquals(2, restored.getRoomByNumber(101).getReservations().size());
+        assertTrue(restored.getRoomByNumber(102).getReservations().isEmpty(), "Undone booking should not be replayed");
+    }
+
+    /**
+     * A journal whose first log can be made to fail, and whose snapshots each wait for a permit
+     * and report whether they were written.
+     */
+    private class FailingJournal extends ReservationJournal {
+        final Semaphore snapshotPermits = new Semaphore(0);
+        final BlockingQueue<Boolean> snapshotResults = new LinkedBlockingQueue<>();
+        FailingFileChannel channel;
+
+        FailingJournal() {
+            super(directory, 100);
+        }
+
+        @Override
+        WriteAheadLog openLog(Path file) throws IOException {
+            if (channel != null) {
+                return super.openLog(file);
+            }
+            channel = new FailingFileChannel(file);
+            return new WriteAheadLog(channel, DurabilityMode.BATCHED);
+        }
+
+        @Override
+        public boolean snapshot() {
+            snapshotPermits.acquireUninterruptibly();
+            boolean written = super.snapshot();
+            snapshotResults.add(written);
+            return written;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(DurabilityMode.class)
+    void testAppendedLinesAreKept(DurabilityMode mode) throws IOException {
+        Path file = directory.resolve("test.log");
+        Files.write(file, List.of("first"));
+
+        try (WriteAheadLog log = new WriteAheadLog(file, mode)) {
+            log.sync(log.append("second"));
+            long position = log.append("zażółć");
+            log.sync(position);
+            assertEquals(Files.size(file), position, "Position should be the end of the line");
+        }
+
+        assertEquals(List.of("first", "second", "zażółć"), Files.readAllLines(file), "Earlier lines should be kept");
+    }
+
+    @Test
+    void testPerOperationForcesEverySync() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("test.log"), DurabilityMode.PER_OPERATION)) {
+            for (int i = 0; i < 5; i++) {
+                log.sync(log.append("line " + i));
+            }
+            assertEquals(5, log.getForceCount());
+        }
+    }
+
+    @Test
+    void testBatchedSkipsForceWhenAlreadyDurable() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("test.log"), DurabilityMode.BATCHED)) {
+            long first = log.append("first");
+            long second = log.append("second");
+            log.sync(second);
+            log.sync(first);
+
+            assertEquals(1, log.getForceCount(), "One force should cover both lines");
+        }
+    }
+
+    @Test
+    void testBatchedGroupsConcurrentOperations() throws Exception {
+        int threads = 8;
+        int perThread = 100;
+        Path file = directory.resolve("test.log");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (WriteAheadLog log = new WriteAheadLog(file, DurabilityMode.BATCHED)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.sync(log.append(thread + ":" + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertTrue(log.getForceCount() <= threads * perThread, "No operation should need more than one force");
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, Files.readAllLines(file).size(), "Every line should be written");
+    }
+
+    @Test
+    void testAsyncDoesNotWaitAndCloseForces() throws IOException {
+        WriteAheadLog log = new WriteAheadLog(directory.resolve("test.log"), DurabilityMode.ASYNC);
+        log.sync(log.append("line"));
+
+        log.close();
+
+        assertTrue(log.getForceCount() <= 1, "Close should force only what is not on disk yet");
+        assertThrows(IOException.class, () -> log.append("late"), "Closed log should reject lines");
+        log.close();
+    }
+
+    @Test
+    void testParseDurabilityMode() {
+        assertEquals(DurabilityMode.PER_OPERATION, DurabilityMode.parse("per-operation"));
+        assertEquals(DurabilityMode.ASYNC, DurabilityMode.parse(" ASYNC "));
+        assertThrows(IllegalArgumentException.class, () -> DurabilityMode.parse("never"));
+    }
+
+    @Test
+    void testRecoverCutsOffIncompleteLastLine() throws IOException {
+        Path file = directory.resolve("test.log");
+        String longLine = "x".repeat(10000);
+        Files.writeString(file, "first\n" + longLine + "\nsecond\npart");
+
+        assertEquals(4, WriteAheadLog.recover(file), "Only the incomplete line should be removed");
+        assertEquals(List.of("first", longLine, "second"), Files.readAllLines(file));
+        assertEquals(0, WriteAheadLog.recover(file), "A complete log should be left alone");
+
+        Files.writeString(file, longLine);
+        assertEquals(10000, WriteAheadLog.recover(file));
+        assertEquals(0, Files.size(file), "A log without a complete line should be emptied");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DurabilityMode.class, names = {"PER_OPERATION", "BATCHED"})
+    void testFailedLogRejectsLaterCallsAndRollsBack(DurabilityMode mode) throws IOException {
+        Path file = directory.resolve("test.log");
+        FailingFileChannel channel = new FailingFileChannel(file);
+        try (WriteAheadLog log = new WriteAheadLog(channel, mode)) {
+            long first = log.append("first");
+            log.sync(first);
+            assertEquals(0, log.rollBack(), "A log that has not failed should not be cut");
+            long second = log.append("second");
+
+            channel.failForces(1);
+            assertThrows(IOException.class, () -> log.sync(second));
+            log.sync(first);
+            assertThrows(IOException.class, () -> log.append("third"), "Failed log should reject lines");
+            assertThrows(IOException.class, log::flush);
+
+            assertEquals("second\n".length(), log.rollBack(), "Only the line that failed should be cut off");
+        }
+
+        assertEquals(List.of("first"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,70 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import org.junit.jupiter.api.*;
+import pl.edu.agh.kis.pz1.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailableCommandTest {
+
+    private Hotel hotel;
+    private final PrintStream originalOut = System.out;
+    private final InputStream originalIn = System.in;
+    private ByteArrayOutputStream testOut;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        Room room101 = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        Room room102 = new Room(102, new BigDecimal("150.0"), 3, "Family Room");
+        room101.addReservation(List.of(new Guest("John", "Doe", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.addRoom(room101);
+        hotel.addRoom(room102);
+        testOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(testOut));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+    }
+
+    private void runWithInput(String input) {
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        new AvailableCommand(hotel).execute();
+    }
+
+    @Test
+    void testListsFreeRooms() {
+        runWithInput("2024-06-11\n3\n2\n");
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Available rooms from 2024-06-11 to 2024-06-14:"));
+        assertTrue(output.contains("Room 102 (Family Room), capacity 3, costs 150.0$ per night."));
+        assertFalse(output.contains("Room 101"), "Booked room should not be listed");
+    }
+
+    @Test
+    void testNoRoomsAvailable() {
+        runWithInput("2024-06-11\n3\n4\n");
+
+        assertTrue(testOut.toString().contains("No rooms are available for the requested dates."));
+    }
+
+    @Test
+    void testInvalidInput() {
+        runWithInput("2024-06-11\nthree\n2\n");
+
+        assertTrue(testOut.toString().contains("Invalid date, duration of stay or number of guests."));
+    }
+}
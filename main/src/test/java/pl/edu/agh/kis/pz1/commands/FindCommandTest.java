@@ -0,0 +1,81 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import org.junit.jupiter.api.*;
+import pl.edu.agh.kis.pz1.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FindCommandTest {
+
+    private Hotel hotel;
+    private final PrintStream originalOut = System.out;
+    private final InputStream originalIn = System.in;
+    private ByteArrayOutputStream testOut;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        Room room101 = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        Room room102 = new Room(102, new BigDecimal("150.0"), 3, "Family Room");
+        room101.addReservation(List.of(new Guest("Jan", "Kowalski", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.addRoom(room101);
+        hotel.addRoom(room102);
+        room102.addReservation(List.of(new Guest("Anna", "Kowalczyk", true)),
+                LocalDate.of(2024, 6, 11), LocalDate.of(2024, 6, 14));
+        testOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(testOut));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+    }
+
+    private void runWithInput(String input) {
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        new FindCommand(hotel).execute();
+    }
+
+    @Test
+    void testFindsGuestsByPrefix() {
+        runWithInput("kowal\n");
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Anna Kowalczyk - room 102, from 2024-06-11 to 2024-06-14."));
+        assertTrue(output.contains("Jan Kowalski - room 101, from 2024-06-10 to 2024-06-12."));
+        assertTrue(output.indexOf("Kowalczyk") < output.indexOf("Kowalski"), "Guests should be ordered by last name");
+    }
+
+    @Test
+    void testFindsSingleGuest() {
+        runWithInput("Kowals\n");
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Jan Kowalski - room 101"));
+        assertFalse(output.contains("Kowalczyk"), "Guest with a different last name should not be listed");
+    }
+
+    @Test
+    void testNoGuestsFound() {
+        runWithInput("Nowak\n");
+
+        assertTrue(testOut.toString().contains("No guests found."));
+    }
+
+    @Test
+    void testEmptyInput() {
+        runWithInput("\n");
+
+        assertTrue(testOut.toString().contains("Last name cannot be empty."));
+    }
+}
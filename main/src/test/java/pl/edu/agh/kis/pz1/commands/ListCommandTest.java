@@ -104,4 +104,36 @@ class ListCommandTest {
         assertTrue(output.contains("Room number: 103"));
         assertTrue(output.contains("The room is not occupied at the moment."));
     }
+
+    @Test
+    void testListCommandOnDate() {
+        ListCommand command = new ListCommand(hotel);
+        command.execute(new String[]{LocalDate.now().plusDays(1).toString()});
+
+        String output = testOut.toString();
+
+        assertTrue(output.contains("Room number: 101"));
+        assertTrue(output.contains("The room is occupied on " + LocalDate.now().plusDays(1) + "."));
+        assertTrue(output.contains("Main guest: John Doe"));
+        assertTrue(output.contains("The room is free on " + LocalDate.now().plusDays(1) + "."), "Room 102 should be free");
+    }
+
+    @Test
+    void testListCommandOnDateAfterStay() {
+        ListCommand command = new ListCommand(hotel);
+        command.execute(new String[]{LocalDate.now().plusDays(3).toString()});
+
+        String output = testOut.toString();
+
+        assertFalse(output.contains("occupied"), "No room should be booked on the day of departure");
+        assertFalse(output.contains("John Doe"));
+    }
+
+    @Test
+    void testListCommandWithInvalidDate() {
+        ListCommand command = new ListCommand(hotel);
+        command.execute(new String[]{"tomorrow"});
+
+        assertTrue(testOut.toString().contains("Invalid date: tomorrow"));
+    }
 }
@@ -0,0 +1,74 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import org.junit.jupiter.api.*;
+import pl.edu.agh.kis.pz1.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCommandTest {
+
+    private Hotel hotel;
+    private final PrintStream originalOut = System.out;
+    private final InputStream originalIn = System.in;
+    private ByteArrayOutputStream testOut;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        Room room101 = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room101.addReservation(List.of(new Guest("John", "Doe", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.addRoom(room101);
+        hotel.addRoom(new Room(201, new BigDecimal("150.0"), 3, "Family Room"));
+        testOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(testOut));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+    }
+
+    private void runWithInput(String input) {
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        new ReportCommand(hotel).execute();
+    }
+
+    @Test
+    void testPrintsTotalsByFloorMonthAndDay() {
+        runWithInput("2024-06-10\n4\n");
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Occupancy report from 2024-06-10 to 2024-06-14:"));
+        assertTrue(output.contains("Hotel: 25.0% occupied, 2 of 8 room-nights booked, revenue 200.00$"));
+        assertTrue(output.contains("Floor 1: 50.0% occupied, 2 of 4 room-nights booked, revenue 200.00$"));
+        assertTrue(output.contains("Floor 2: 0.0% occupied, 0 of 4 room-nights booked, revenue 0.00$"));
+        assertTrue(output.contains("Month 2024-06: 25.0% occupied"));
+        assertTrue(output.contains("Day 2024-06-11: 50.0% occupied, 1 of 2 room-nights booked, revenue 100.00$"));
+    }
+
+    @Test
+    void testLongPeriodHasNoDailyLines() {
+        runWithInput("2024-06-01\n60\n");
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Month 2024-07:"));
+        assertFalse(output.contains("Day "), "Daily totals should be printed only for short periods");
+    }
+
+    @Test
+    void testInvalidInput() {
+        runWithInput("2024-06-10\n0\n");
+
+        assertTrue(testOut.toString().contains("Invalid date or number of days."));
+    }
+}
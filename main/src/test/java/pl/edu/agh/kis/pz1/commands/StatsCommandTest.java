@@ -0,0 +1,60 @@
+package pl.edu.agh.kis.pz1.commands;
+
+import org.junit.jupiter.api.*;
+import pl.edu.agh.kis.pz1.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsCommandTest {
+
+    private Hotel hotel;
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream testOut;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        testOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(testOut));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testStatsWhenDisabled() {
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+
+        new StatsCommand(hotel).execute();
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Rooms: 1"), "Should report the number of rooms");
+        assertTrue(output.contains("Estimated memory footprint: "), "Should report the footprint");
+        assertTrue(output.contains("Operation statistics are disabled"), "Should explain how to enable statistics");
+        assertFalse(output.contains("Lookups:"), "Should not report counters that were not collected");
+    }
+
+    @Test
+    void testStatsWhenEnabled() {
+        hotel.getRooms().enableStats();
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 2, "Deluxe Room"));
+        hotel.getRoomByNumber(101);
+        hotel.getRoomByNumber(999);
+
+        new StatsCommand(hotel).execute();
+
+        String output = testOut.toString();
+        assertTrue(output.contains("Rooms: 2"), "Should report the number of rooms");
+        assertTrue(output.contains("Lookups: 4 (hits: 1, misses: 3)"),
+                "Should count the containsKey checks of addRoom and the room lookups");
+        assertTrue(output.contains("Puts: 2, removes: 0"), "Should count the insertions");
+        assertTrue(output.contains("Average probe length: "), "Should report probe lengths");
+    }
+}
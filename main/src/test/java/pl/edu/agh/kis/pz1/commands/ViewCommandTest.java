@@ -131,4 +131,61 @@ class ViewCommandTest {
                 Arguments.of("\n", "Invalid room number")
         );
     }
+
+    /**
+     * Test viewing a room with its number and a date given as arguments.
+     */
+    @Test
+    void testViewRoomOnDate() {
+        ViewCommand command = new ViewCommand(hotel);
+        command.execute(new String[]{"101", LocalDate.now().plusDays(2).toString()});
+
+        String output = testOut.toString();
+
+        assertTrue(output.contains("Room number: 101"), "Output should contain room number.");
+        assertTrue(output.contains("The room is occupied on " + LocalDate.now().plusDays(2) + "."));
+        assertTrue(output.contains("Main guest: John Doe"), "Output should list main guest.");
+    }
+
+    /**
+     * Test viewing a room on a date when it is free.
+     */
+    @Test
+    void testViewRoomOnFreeDate() {
+        ViewCommand command = new ViewCommand(hotel);
+        command.execute(new String[]{"101", LocalDate.now().minusDays(1).toString()});
+
+        String output = testOut.toString();
+
+        assertTrue(output.contains("The room is free on " + LocalDate.now().minusDays(1) + "."));
+        assertFalse(output.contains("John Doe"), "Guests of other dates should not be listed.");
+    }
+
+    /**
+     * Test viewing a room with only its number given as an argument.
+     */
+    @Test
+    void testViewRoomNumberArgument() {
+        ViewCommand command = new ViewCommand(hotel);
+        command.execute(new String[]{"102"});
+
+        assertTrue(testOut.toString().contains("No reservations found for this room."));
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    void testViewInvalidArguments() {
+        ViewCommand command = new ViewCommand(hotel);
+        command.execute(new String[]{"abc"});
+        command.execute(new String[]{"101", "2024-13-01"});
+        command.execute(new String[]{"999", "2024-01-01"});
+
+        String output = testOut.toString();
+
+        assertTrue(output.contains("Invalid room number"));
+        assertTrue(output.contains("Invalid date: 2024-13-01"));
+        assertTrue(output.contains("Room not found."));
+    }
 }
@@ -0,0 +1,120 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GuestIndex class.
+ * Verifies that stays follow the reservations of the rooms and are found by last name prefix.
+ */
+class GuestIndexTest {
+
+    private static final LocalDate JUNE_10 = LocalDate.of(2024, 6, 10);
+    private static final LocalDate JUNE_12 = LocalDate.of(2024, 6, 12);
+
+    @Test
+    void testIndexesExistingAndNewReservations() {
+        GuestIndex index = new GuestIndex();
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        Guest jan = new Guest("Jan", "Kowalski", true);
+        Guest anna = new Guest("Anna", "Nowak", false);
+        room.addReservation(List.of(jan, anna), JUNE_10, JUNE_12);
+
+        room.setReservationListener(index);
+        assertEquals(0, index.size(), "Attaching the index should not report existing reservations");
+        index.reservationAdded(room, room.getReservations().get(0));
+        room.addReservation(List.of(new Guest("Piotr", "Kowalczyk", true)), JUNE_12, JUNE_12.plusDays(1));
+
+        assertEquals(3, index.size(), "Every guest of every reservation should be indexed");
+        List<GuestStay> stays = index.findByLastNamePrefix("Kowal");
+        assertEquals(2, stays.size(), "Two guests should match the prefix");
+        assertEquals("Kowalczyk", stays.get(0).getGuest().getLastName(), "Stays should be ordered by last name");
+        assertEquals(new GuestStay(jan, 101, new ReservationPeriod(JUNE_10, JUNE_12)), stays.get(1));
+    }
+
+    @Test
+    void testRemovedReservationIsNoLongerFound() {
+        GuestIndex index = new GuestIndex();
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room.setReservationListener(index);
+        room.addReservation(List.of(new Guest("Jan", "Kowalski", true)), JUNE_10, JUNE_12);
+
+        assertNotNull(room.removeReservationOn(JUNE_10.plusDays(1)), "Reservation should be removed");
+
+        assertTrue(index.findByLastNamePrefix("Kowalski").isEmpty(), "Removed stay should not be found");
+        assertEquals(0, index.size(), "Index should be empty");
+    }
+
+    @Test
+    void testSearchIgnoresCaseAndAccents() {
+        GuestIndex index = new GuestIndex();
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room.setReservationListener(index);
+        room.addReservation(List.of(new Guest("Jose", "García", true)), JUNE_10, JUNE_12);
+
+        assertEquals(1, index.findByLastNamePrefix("garci").size(), "Prefix without accent should match");
+        assertEquals(1, index.findByLastNamePrefix("GARCÍA").size(), "Upper case prefix should match");
+        assertTrue(index.findByLastNamePrefix("Garcias").isEmpty(), "Longer name should not match");
+    }
+
+    @Test
+    void testEmptyPrefixMatchesEveryGuest() {
+        GuestIndex index = new GuestIndex();
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room.setReservationListener(index);
+        room.addReservation(List.of(new Guest("Jan", "Kowalski", true), new Guest("Anna", "Nowak", false)),
+                JUNE_10, JUNE_12);
+
+        assertEquals(2, index.findByLastNamePrefix("").size(), "Empty prefix should match every guest");
+    }
+
+    @Test
+    void testGuestHistoryIsOrderedByCheckIn() {
+        GuestIndex index = new GuestIndex();
+        Room room101 = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        Room room102 = new Room(102, new BigDecimal("150.0"), 3, "Family Room");
+        room101.setReservationListener(index);
+        room102.setReservationListener(index);
+        room101.addReservation(List.of(new Guest("Jan", "Kowalski", true)), JUNE_12, JUNE_12.plusDays(2));
+        room102.addReservation(List.of(new Guest("Anna", "Nowak", true), new Guest("Jan", "Kowalski", false)),
+                JUNE_10, JUNE_12);
+        room102.addReservation(List.of(new Guest("Adam", "Kowalski", true)), JUNE_12, JUNE_12.plusDays(1));
+
+        List<GuestStay> history = index.findByGuest("Jan", "Kowalski");
+
+        assertEquals(2, history.size(), "Stays as main and additional guest should both be listed");
+        assertEquals(102, history.get(0).getRoomNumber(), "Earlier stay should come first");
+        assertEquals(101, history.get(1).getRoomNumber());
+        assertTrue(index.findByGuest("Jan", "Nowak").isEmpty(), "Unknown guest should have no history");
+    }
+
+    @Test
+    void testGuestHistoryFollowsRemovals() {
+        GuestIndex index = new GuestIndex();
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room.setReservationListener(index);
+        Reservation first = new Reservation(List.of(new Guest("Jan", "Kowalski", true)),
+                new ReservationPeriod(JUNE_10, JUNE_12));
+        room.addReservation(first);
+        room.addReservation(List.of(new Guest("Jan", "Kowalski", true)), JUNE_12, JUNE_12.plusDays(1));
+
+        room.removeReservation(first);
+
+        List<GuestStay> history = index.findByGuest("Jan", "Kowalski");
+        assertEquals(1, history.size(), "Removed stay should leave the history");
+        assertEquals(JUNE_12, history.get(0).getPeriod().getCheckInDate());
+    }
+
+    @Test
+    void testPrefixUpperBound() {
+        assertEquals("kox", GuestIndex.prefixUpperBound("kow"));
+        assertEquals("l", GuestIndex.prefixUpperBound("k\uffff"));
+        assertNull(GuestIndex.prefixUpperBound(""));
+        assertNull(GuestIndex.prefixUpperBound("\uffff"));
+    }
+}
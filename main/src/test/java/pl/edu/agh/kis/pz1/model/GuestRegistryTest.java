@@ -0,0 +1,58 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GuestRegistry class.
+ * Verifies that guests and their names are shared between repeated lookups.
+ */
+class GuestRegistryTest {
+
+    @Test
+    void testInternReturnsSameInstanceForEqualGuest() {
+        GuestRegistry registry = new GuestRegistry();
+
+        Guest first = registry.intern(new String("John"), new String("Doe"), false);
+        Guest second = registry.intern(new String("John"), new String("Doe"), false);
+
+        assertSame(first, second, "Equal guests should be the same instance");
+        assertEquals(1, registry.size(), "Registry should hold one guest");
+    }
+
+    @Test
+    void testInternDistinguishesMainGuestStatus() {
+        GuestRegistry registry = new GuestRegistry();
+
+        Guest main = registry.intern("John", "Doe", true);
+        Guest additional = registry.intern("John", "Doe", false);
+
+        assertNotSame(main, additional, "Main and additional guest should be separate instances");
+        assertTrue(main.isMainGuest(), "Main guest flag should be kept");
+        assertFalse(additional.isMainGuest(), "Additional guest flag should be kept");
+        assertSame(main.getFirstName(), additional.getFirstName(), "First names should be shared");
+        assertSame(main.getLastName(), additional.getLastName(), "Last names should be shared");
+        assertEquals(2, registry.size(), "Registry should hold two guests");
+        assertEquals(2, registry.namesCount(), "Registry should hold two names");
+    }
+
+    @Test
+    void testInternNameSharesStringsAcrossGuests() {
+        GuestRegistry registry = new GuestRegistry();
+
+        Guest john = registry.intern("John", new String("Doe"), false);
+        Guest jane = registry.intern("Jane", new String("Doe"), false);
+
+        assertSame(john.getLastName(), jane.getLastName(), "Equal last names should be the same string");
+        assertEquals(3, registry.namesCount(), "Registry should hold three names");
+    }
+
+    @Test
+    void testInternNameNull() {
+        GuestRegistry registry = new GuestRegistry();
+
+        assertNull(registry.internName(null), "Null name should stay null");
+        assertEquals(0, registry.namesCount(), "Null name should not be registered");
+    }
+}
@@ -1,9 +1,19 @@
 package pl.edu.agh.kis.pz1.model;
 
 import org.junit.jupiter.api.Test;
-import pl.edu.agh.kis.pz1.MyMap;
+import pl.edu.agh.kis.pz1.IntObjectMap;
+import pl.edu.agh.kis.pz1.PersistentMyMap;
+import pl.edu.agh.kis.pz1.SortedMyMap;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,7 +36,7 @@ class HotelTest {
 
     @Test
     void testParameterizedConstructor() {
-        MyMap<Integer, Room> rooms = new MyMap<>();
+        IntObjectMap<Room> rooms = new IntObjectMap<>();
         rooms.put(101, new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room"));
 
         Hotel hotel = new Hotel(1, 1, rooms);
@@ -38,7 +48,7 @@ class HotelTest {
 
     @Test
     void testCopyConstructor() {
-        MyMap<Integer, Room> rooms = new MyMap<>();
+        IntObjectMap<Room> rooms = new IntObjectMap<>();
         rooms.put(101, new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room"));
 
         Hotel originalHotel = new Hotel(1, 1, rooms);
@@ -55,7 +65,7 @@ class HotelTest {
 
         hotel.setFloorsCount(5);
         hotel.setRoomsCount(50);
-        MyMap<Integer, Room> rooms = new MyMap<>();
+        IntObjectMap<Room> rooms = new IntObjectMap<>();
         hotel.setRooms(rooms);
 
         assertEquals(5, hotel.getFloorsCount(), "Floors count should be updated to 5");
@@ -101,6 +111,27 @@ class HotelTest {
         assertEquals(room101, hotel.getRooms().get(101), "Original room should remain unchanged");
     }
 
+    @Test
+    void testAddRoomsInBulk() {
+        Hotel hotel = new Hotel();
+        Room room101 = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        hotel.addRoom(room101);
+
+        hotel.addRooms(List.of(
+                new Room(101, BigDecimal.valueOf(120.0), 3, "Suite Room"),
+                new Room(205, BigDecimal.valueOf(150.0), 2, "Deluxe Room"),
+                new Room(202, BigDecimal.valueOf(150.0), 2, "Deluxe Room"),
+                new Room(205, BigDecimal.valueOf(90.0), 1, "Single Room")));
+
+        assertEquals(3, hotel.getRoomsCount(), "Duplicate room numbers should be skipped");
+        assertEquals(2, hotel.getFloorsCount(), "Floors count should follow the highest added room");
+        assertEquals(room101, hotel.getRoomByNumber(101), "Existing room should remain unchanged");
+        assertEquals(BigDecimal.valueOf(150.0), hotel.getRoomByNumber(205).getPricePerNight(),
+                "First room with a given number should win");
+        assertEquals(List.of(202, 205), hotel.getRoomsOnFloor(2).stream().map(Room::getNumber).toList(),
+                "Bulk added rooms should be indexed by number");
+    }
+
     @Test
     void testFloorsCountUpdate() {
         Hotel hotel = new Hotel();
@@ -117,10 +148,446 @@ class HotelTest {
     void testRoomsMapIsMutable() {
         Hotel hotel = new Hotel();
 
-        MyMap<Integer, Room> rooms = hotel.getRooms();
+        IntObjectMap<Room> rooms = hotel.getRooms();
         Room room101 = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
         rooms.put(101, room101);
 
         assertEquals(0, hotel.getRoomsCount(), "Rooms count should not be affected by external modifications");
     }
+
+    @Test
+    void testRoomsOnFloorAndInRange() {
+        Hotel hotel = new Hotel();
+        Room room302 = new Room(302, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        Room room101 = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        Room room301 = new Room(301, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        Room room401 = new Room(401, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        hotel.addRoom(room302);
+        hotel.addRoom(room101);
+        hotel.addRoom(room301);
+        hotel.addRoom(room401);
+
+        assertEquals(List.of(room301, room302), hotel.getRoomsOnFloor(3), "Floor 3 should list its rooms in order");
+        assertTrue(hotel.getRoomsOnFloor(2).isEmpty(), "Floor 2 should have no rooms");
+        assertEquals(List.of(room302, room401), hotel.getRoomsInRange(302, 401), "Range bounds should be inclusive");
+        assertTrue(hotel.getRoomsInRange(400, 300).isEmpty(), "Reversed range should be empty");
+        assertEquals(List.of(room401), hotel.getRoomsInRange(400, Integer.MAX_VALUE), "Open-ended range should work");
+    }
+
+    @Test
+    void testRangeQueriesOnProvidedRooms() {
+        IntObjectMap<Room> rooms = new IntObjectMap<>();
+        Room room201 = new Room(201, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        rooms.put(201, room201);
+
+        Hotel hotel = new Hotel(2, 1, rooms);
+
+        assertEquals(List.of(room201), hotel.getRoomsOnFloor(2), "Rooms given to the constructor should be indexed");
+    }
+
+    @Test
+    void testSnapshotRoomsIsNotAffectedByLaterRooms() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+
+        PersistentMyMap<Integer, RoomSnapshot> snapshot = hotel.snapshotRooms();
+        hotel.addRoom(new Room(102, BigDecimal.valueOf(120.0), 2, "Standard Room"));
+
+        assertEquals(1, snapshot.size(), "Snapshot should keep the room set from the time it was taken");
+        assertEquals(101, snapshot.get(101).getNumber(), "Snapshot should contain room 101");
+        assertNull(snapshot.get(102), "Snapshot should not see rooms added later");
+        assertEquals(2, hotel.snapshotRooms().size(), "A new snapshot should see the added room");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(103, snapshot.get(101)),
+                "Snapshot should be immutable");
+    }
+
+    @Test
+    void testSnapshotRoomsIsNotAffectedByLaterBookings() {
+        Hotel hotel = new Hotel();
+        Room room = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        room.addReservation(List.of(), LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3));
+        hotel.addRoom(room);
+
+        PersistentMyMap<Integer, RoomSnapshot> before = hotel.snapshotRooms();
+        hotel.reserve(101, List.of(), LocalDate.of(2024, 6, 5), LocalDate.of(2024, 6, 6));
+        room.removeReservationOn(LocalDate.of(2024, 6, 1));
+        RoomSnapshot after = hotel.snapshotRooms().get(101);
+
+        assertEquals(1, before.get(101).getReservations().size(), "Snapshot should keep the reservations it was taken with");
+        assertEquals(LocalDate.of(2024, 6, 1), before.get(101).getReservations().get(0).getPeriod().getCheckInDate());
+        assertEquals(1, after.getReservations().size(), "A new snapshot should see later changes");
+        assertEquals(LocalDate.of(2024, 6, 5), after.getReservations().get(0).getPeriod().getCheckInDate());
+        assertEquals(Money.parse("100.0"), after.getPrice());
+        BitSet booked = before.get(101).getBookedNights(LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 10));
+        assertEquals(BitSet.valueOf(new long[]{1}), booked, "Only the night of 2 June should be booked");
+    }
+
+    @Test
+    void testFindAvailableRoomsByDatesAndCapacity() {
+        Hotel hotel = new Hotel();
+        Room room101 = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
+        Room room102 = new Room(102, BigDecimal.valueOf(150.0), 3, "Family Room");
+        Room room201 = new Room(201, BigDecimal.valueOf(200.0), 4, "Suite");
+        Room room202 = new Room(202, BigDecimal.valueOf(180.0), 3, "Family Room");
+        hotel.addRooms(List.of(room202, room101, room201, room102));
+        List<Guest> guests = List.of(new Guest("John", "Doe", true));
+        room102.addReservation(guests, LocalDate.of(2024, 6, 12), LocalDate.of(2024, 6, 15));
+        room201.addReservation(guests, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 10));
+
+        List<Room> available = hotel.findAvailableRooms(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 14), 3);
+
+        assertEquals(List.of(room201, room202), available,
+                "Rooms too small or booked should be skipped and the rest ordered by number");
+        assertEquals(List.of(room101, room102, room201, room202),
+                hotel.findAvailableRooms(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 2), 0),
+                "A non-positive capacity should match every free room");
+        assertTrue(hotel.findAvailableRooms(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 2), 5).isEmpty(),
+                "No room holds five guests");
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.findAvailableRooms(LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 1), 1));
+    }
+
+    @Test
+    void testFindAvailableRoomsOnProvidedRooms() {
+        IntObjectMap<Room> rooms = new IntObjectMap<>();
+        rooms.put(301, new Room(301, BigDecimal.valueOf(300.0), 5, "Grand Suite"));
+        Hotel hotel = new Hotel(3, 1, rooms);
+
+        assertEquals(1, hotel.findAvailableRooms(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3), 5).size(),
+                "Rooms given to the constructor should be indexed by capacity");
+    }
+
+    @Test
+    void testReserve() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+        List<Guest> guests = List.of(new Guest("John", "Doe", true));
+
+        assertTrue(hotel.reserve(101, guests, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3)));
+        assertFalse(hotel.reserve(101, guests, LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 4)),
+                "Overlapping booking should be rejected");
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.reserve(999, guests, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3)));
+    }
+
+    @Test
+    void testConcurrentBookingsNeverDoubleBook() throws InterruptedException {
+        Hotel hotel = new Hotel();
+        int roomsCount = 8;
+        for (int i = 1; i <= roomsCount; i++) {
+            hotel.addRoom(new Room(100 + i, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+        }
+        int threadsCount = 8;
+        int attemptsPerThread = 2_000;
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadsCount; t++) {
+            int seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+                List<Guest> guests = List.of(new Guest("Guest", "T" + seed, true));
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    LocalDate checkIn = start.plusDays(random.nextInt(365));
+                    if (hotel.reserve(101 + random.nextInt(roomsCount), guests, checkIn,
+                            checkIn.plusDays(1 + random.nextInt(5)))) {
+                        booked.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        ready.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int reservationsCount = 0;
+        for (Room room : hotel.getAllRooms()) {
+            List<Reservation> reservations = room.getReservations();
+            reservationsCount += reservations.size();
+            int bookedNights = 0;
+            for (int i = 0; i < reservations.size(); i++) {
+                ReservationPeriod period = reservations.get(i).getPeriod();
+                bookedNights += (int) ChronoUnit.DAYS.between(period.getCheckInDate(), period.getCheckOutDate());
+                if (i > 0) {
+                    assertFalse(reservations.get(i - 1).getPeriod().overlapsWith(period),
+                            "Room " + room.getNumber() + " should not be double booked");
+                }
+            }
+            assertEquals(bookedNights, room.countBookedNights(start, start.plusDays(400)),
+                    "Occupancy bitmap should match the reservations of room " + room.getNumber());
+        }
+        assertEquals(booked.get(), reservationsCount, "Every successful booking should be stored exactly once");
+    }
+
+    @Test
+    void testReserveGroupIsAllOrNothing() {
+        Hotel hotel = new Hotel();
+        for (int number = 101; number <= 105; number++) {
+            hotel.addRoom(new Room(number, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+        }
+        List<Guest> guests = List.of(new Guest("Tour", "Leader", true));
+        hotel.reserve(104, guests, LocalDate.of(2024, 9, 3), LocalDate.of(2024, 9, 5));
+        IntObjectMap<List<Guest>> group = new IntObjectMap<>();
+        for (int number = 105; number >= 101; number--) {
+            group.put(number, guests);
+        }
+
+        List<Integer> conflicts = hotel.reserveGroup(group, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 4));
+
+        assertEquals(List.of(104), conflicts, "The booked room should be reported");
+        for (int number = 101; number <= 105; number++) {
+            assertEquals(number == 104 ? 1 : 0, hotel.getRoomByNumber(number).getReservations().size(),
+                    "No room should be booked when one of them conflicts");
+        }
+
+        group.remove(104);
+        assertTrue(hotel.reserveGroup(group, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 4)).isEmpty());
+        assertTrue(hotel.getRoomByNumber(101).isBookedOn(LocalDate.of(2024, 9, 3)));
+        assertTrue(hotel.getRoomByNumber(105).isBookedOn(LocalDate.of(2024, 9, 1)));
+    }
+
+    @Test
+    void testReserveGroupRejectsUnknownRooms() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+        IntObjectMap<List<Guest>> group = new IntObjectMap<>();
+        group.put(101, List.of(new Guest("John", "Doe", true)));
+        group.put(999, List.of(new Guest("Jane", "Doe", true)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.reserveGroup(group, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 4)));
+        assertTrue(hotel.getRoomByNumber(101).getReservations().isEmpty(), "Nothing should be booked");
+    }
+
+    @Test
+    void testConcurrentGroupBookingsDoNotDeadlock() throws InterruptedException {
+        Hotel hotel = new Hotel();
+        for (int number = 101; number <= 120; number++) {
+            hotel.addRoom(new Room(number, BigDecimal.valueOf(100.0), 2, "Standard Room"));
+        }
+        List<Guest> guests = List.of(new Guest("Tour", "Leader", true));
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        AtomicInteger successfulGroups = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            int seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 300; i++) {
+                    IntObjectMap<List<Guest>> group = new IntObjectMap<>();
+                    for (int r = 0; r < 5; r++) {
+                        group.put(101 + random.nextInt(20), guests);
+                    }
+                    LocalDate checkIn = start.plusDays(random.nextInt(60));
+                    if (hotel.reserveGroup(group, checkIn, checkIn.plusDays(2)).isEmpty()) {
+                        successfulGroups.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse(thread.isAlive(), "Group bookings should not deadlock");
+        }
+
+        assertTrue(successfulGroups.get() > 0, "Some groups should have been booked");
+        for (Room room : hotel.getAllRooms()) {
+            List<Reservation> reservations = room.getReservations();
+            for (int i = 1; i < reservations.size(); i++) {
+                assertFalse(reservations.get(i - 1).getPeriod().overlapsWith(reservations.get(i).getPeriod()),
+                        "Room " + room.getNumber() + " should not be double booked");
+            }
+        }
+    }
+
+    @Test
+    void testFindGuestsFollowsReservationsOfAllRooms() {
+        Room room101 = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room101.addReservation(List.of(new Guest("Jan", "Kowalski", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        Hotel hotel = new Hotel();
+        hotel.addRoom(room101);
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+
+        assertTrue(hotel.reserve(102, List.of(new Guest("Anna", "Kowalska", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 11)));
+
+        List<GuestStay> stays = hotel.findGuests("kowal");
+        assertEquals(2, stays.size(), "Reservations made before and after adding the room should be found");
+        assertEquals(102, stays.get(0).getRoomNumber(), "Kowalska should come before Kowalski");
+        assertEquals(101, stays.get(1).getRoomNumber());
+
+        room101.removeReservationOn(LocalDate.of(2024, 6, 11));
+        assertEquals(1, hotel.findGuests("kowal").size(), "Removed reservation should no longer be found");
+    }
+
+    @Test
+    void testGetOccupancyOn() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+        hotel.addRoom(new Room(103, new BigDecimal("150.0"), 3, "Family Room"));
+        Guest guest = new Guest("Jan", "Kowalski", true);
+        hotel.reserve(103, List.of(guest), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.reserve(101, List.of(guest), LocalDate.of(2024, 6, 8), LocalDate.of(2024, 6, 10));
+        hotel.reserve(101, List.of(guest), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 11));
+
+        SortedMyMap<Integer, Reservation> occupancy = hotel.getOccupancyOn(LocalDate.of(2024, 6, 10));
+
+        assertEquals(List.of(101, 103), occupancy.keys(), "Booked rooms should be listed in ascending order");
+        assertEquals(LocalDate.of(2024, 6, 10), occupancy.get(101).getPeriod().getCheckInDate(),
+                "The arriving stay should be returned on a changeover day");
+        assertTrue(hotel.getOccupancyOn(LocalDate.of(2024, 6, 12)).isEmpty(), "No room is booked after the stays");
+        assertEquals(1, hotel.getOccupancyOn(LocalDate.of(2024, 6, 8)).size(), "Past and future dates should work alike");
+    }
+
+    @Test
+    void testOccupancyFollowsRemovalsAndAddedRooms() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        Room booked = new Room(102, new BigDecimal("150.0"), 3, "Family Room");
+        booked.addReservation(List.of(new Guest("Anna", "Nowak", true)), LocalDate.of(2024, 6, 9), LocalDate.of(2024, 6, 11));
+        hotel.addRoom(booked);
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+
+        assertEquals(List.of(101, 102), hotel.getOccupancyOn(LocalDate.of(2024, 6, 10)).keys(),
+                "Reservations of an added room should be indexed");
+
+        hotel.getRoomByNumber(101).removeReservationOn(LocalDate.of(2024, 6, 11));
+        assertEquals(List.of(102), hotel.getOccupancyOn(LocalDate.of(2024, 6, 10)).keys(), "Removed stay should be gone");
+        assertTrue(hotel.getOccupancyOn(LocalDate.of(2024, 6, 11)).isEmpty());
+
+        hotel.getOccupancyOn(LocalDate.of(2024, 6, 9)).remove(102);
+        assertEquals(1, hotel.getOccupancyOn(LocalDate.of(2024, 6, 9)).size(), "The result should be a copy");
+    }
+
+    @Test
+    void testCopyReservations() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        hotel.reserve(101, List.of(new Guest("Jan", "Kowalski", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        AtomicInteger calls = new AtomicInteger();
+
+        Hotel copy = hotel.copyReservations(calls::incrementAndGet);
+        hotel.reserve(102, List.of(new Guest("Anna", "Nowak", true)),
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+
+        assertEquals(1, calls.get(), "Action should run once");
+        assertEquals(List.of(102, 101), copy.getRooms().keys(), "Rooms should keep their order");
+        assertNotSame(hotel.getRoomByNumber(101), copy.getRoomByNumber(101), "Rooms should be copied");
+        assertEquals(1, copy.getRoomByNumber(101).getReservations().size());
+        assertTrue(copy.getRoomByNumber(102).getReservations().isEmpty(), "Later bookings should not reach the copy");
+    }
+
+    @Test
+    void testReservationListenerSeesAllRooms() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        List<String> events = new ArrayList<>();
+        hotel.addReservationListener(new ReservationListener() {
+            @Override
+            public void reservationAdded(Room room, Reservation reservation) {
+                events.add("added " + room.getNumber());
+            }
+
+            @Override
+            public void reservationRemoved(Room room, Reservation reservation) {
+                events.add("removed " + room.getNumber());
+            }
+        });
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+
+        hotel.reserve(101, List.of(), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.reserve(102, List.of(), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+        hotel.getRoomByNumber(101).removeReservationOn(LocalDate.of(2024, 6, 11));
+
+        assertEquals(List.of("added 101", "added 102", "removed 101"), events);
+    }
+
+    @Test
+    void testRejectedBookingIsUndone() {
+        Hotel hotel = new Hotel();
+        hotel.addRoom(new Room(101, new BigDecimal("100.0"), 2, "Standard Room"));
+        hotel.addRoom(new Room(102, new BigDecimal("150.0"), 3, "Family Room"));
+        List<String> events = new ArrayList<>();
+        hotel.addReservationListener(new ReservationListener() {
+            @Override
+            public void reservationAdded(Room room, Reservation reservation) {
+                events.add("added " + room.getNumber());
+            }
+
+            @Override
+            public void reservationRemoved(Room room, Reservation reservation) {
+                events.add("removed " + room.getNumber());
+            }
+        });
+        hotel.addReservationListener(new ReservationListener() {
+            @Override
+            public void reservationAdded(Room room, Reservation reservation) {
+                throw new IllegalStateException("Cannot save");
+            }
+
+            @Override
+            public void reservationRemoved(Room room, Reservation reservation) {
+                // accepts removals
+            }
+        });
+        List<Guest> guests = List.of(new Guest("John", "Doe", true));
+        IntObjectMap<List<Guest>> group = new IntObjectMap<>();
+        group.put(101, guests);
+        group.put(102, guests);
+
+        assertThrows(IllegalStateException.class,
+                () -> hotel.reserve(101, guests, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12)));
+        assertThrows(IllegalStateException.class,
+                () -> hotel.reserveGroup(group, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12)));
+
+        assertTrue(hotel.getRoomByNumber(101).getReservations().isEmpty(), "Rejected booking should be undone");
+        assertTrue(hotel.getRoomByNumber(102).getReservations().isEmpty(), "Rejected group should be undone");
+        assertTrue(hotel.getRoomByNumber(101).isFree(new ReservationPeriod(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12))));
+        assertTrue(hotel.findGuests("Doe").isEmpty(), "Guest index should not see the rejected booking");
+        assertTrue(hotel.snapshotRooms().get(101).getReservations().isEmpty(), "Snapshot should not see it either");
+        assertTrue(hotel.getOccupancyOn(LocalDate.of(2024, 6, 10)).isEmpty(), "Night index should not see it either");
+        assertEquals(List.of("added 101", "removed 101", "added 101", "added 102", "removed 102", "removed 101"), events,
+                "Listeners that accepted the change should be told to undo it");
+    }
+
+    @Test
+    void testExistingReservationsOfAddedRoomAreIndexedButNotReported() {
+        Hotel hotel = new Hotel();
+        List<String> events = new ArrayList<>();
+        hotel.addReservationListener(new ReservationListener() {
+            @Override
+            public void reservationAdded(Room room, Reservation reservation) {
+                events.add("added " + room.getNumber());
+            }
+
+            @Override
+            public void reservationRemoved(Room room, Reservation reservation) {
+                events.add("removed " + room.getNumber());
+            }
+        });
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        room.addReservation(List.of(new Guest("John", "Doe", true)), LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+
+        hotel.addRoom(room);
+
+        assertTrue(events.isEmpty(), "Existing reservations are not new bookings");
+        assertEquals(1, hotel.findGuests("Doe").size(), "Guest index should see the existing reservation");
+        assertEquals(1, hotel.snapshotRooms().get(101).getReservations().size(), "Snapshot should see it too");
+    }
 }
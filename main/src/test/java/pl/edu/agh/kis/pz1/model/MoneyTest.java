@@ -0,0 +1,70 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Money class.
+ * Verifies conversions, rounding rules and overflow-safe arithmetic.
+ */
+class MoneyTest {
+
+    @Test
+    void testExactConversion() {
+        assertEquals(15000, Money.of(new BigDecimal("150.0")).getCents());
+        assertEquals(9999, Money.parse("99.99").getCents());
+        assertEquals(-50, Money.parse("-0.5").getCents());
+        assertEquals(new BigDecimal("150.00"), Money.parse("150").toBigDecimal());
+    }
+
+    @Test
+    void testConversionIsLossless() {
+        BigDecimal price = new BigDecimal("123.45");
+
+        assertEquals(0, price.compareTo(Money.of(price).toBigDecimal()), "Converting back should keep the value");
+        assertEquals(Money.of(price), Money.parse(Money.of(price).toString()), "Text form should parse back");
+    }
+
+    @Test
+    void testFractionOfCentIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("99.999"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+    }
+
+    @Test
+    void testExplicitRounding() {
+        assertEquals(Money.parse("0.12"), Money.of(new BigDecimal("0.125"), RoundingMode.HALF_EVEN));
+        assertEquals(Money.parse("0.14"), Money.of(new BigDecimal("0.135"), RoundingMode.HALF_EVEN));
+        assertEquals(Money.parse("0.13"), Money.of(new BigDecimal("0.125"), RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void testArithmetic() {
+        Money price = Money.parse("150.50");
+
+        assertEquals(Money.parse("451.50"), price.times(3));
+        assertEquals(Money.parse("250.50"), price.plus(Money.ofCents(10000)));
+        assertSame(Money.ZERO, price.times(0), "Zero amount should be shared");
+    }
+
+    @Test
+    void testOverflowThrows() {
+        Money large = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> large.times(2));
+        assertThrows(ArithmeticException.class, () -> large.plus(Money.ofCents(1)));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void testToStringAndOrdering() {
+        assertEquals("150.00", Money.parse("150.0").toString());
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertTrue(Money.parse("1.00").compareTo(Money.parse("0.99")) > 0);
+        assertEquals(Money.parse("1.0").hashCode(), Money.ofCents(100).hashCode());
+    }
+}
@@ -0,0 +1,121 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the OccupancyBitmap class.
+ * Verifies setting and clearing ranges of nights, range queries across word boundaries,
+ * and the search for runs of free nights.
+ */
+class OccupancyBitmapTest {
+
+    @Test
+    void testEmptyBitmap() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+
+        assertFalse(bitmap.get(100), "No night should be booked");
+        assertTrue(bitmap.isClear(-1000, 1000), "Every range should be free");
+        assertEquals(0, bitmap.cardinality(-1000, 1000), "No night should be counted");
+        assertEquals(5, bitmap.findFreeRun(5, 10, 5), "The whole range should be a free run");
+    }
+
+    @Test
+    void testSetAndClearAcrossWords() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.set(60, 200);
+
+        assertTrue(bitmap.get(60), "First night should be booked");
+        assertTrue(bitmap.get(199), "Last night should be booked");
+        assertFalse(bitmap.get(200), "Departure day should stay free");
+        assertEquals(140, bitmap.cardinality(0, 1000), "All booked nights should be counted");
+
+        bitmap.clear(64, 128);
+        assertEquals(76, bitmap.cardinality(0, 1000), "A cleared word should no longer be counted");
+        assertTrue(bitmap.isClear(64, 128), "Cleared nights should be free");
+        assertEquals(128, bitmap.nextSetDay(64, 1000), "Next booked night should follow the cleared word");
+    }
+
+    @Test
+    void testGrowsTowardsEarlierDays() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.set(19_000, 19_005);
+        bitmap.set(-70, -60);
+
+        assertTrue(bitmap.get(19_004), "Later range should survive growing towards earlier days");
+        assertTrue(bitmap.get(-65), "Days before the epoch should be supported");
+        assertEquals(15, bitmap.cardinality(-100, 20_000), "Both ranges should be counted");
+    }
+
+    @Test
+    void testFindFreeRun() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.set(10, 12);
+        bitmap.set(14, 20);
+
+        assertEquals(0, bitmap.findFreeRun(0, 30, 10), "Run before the first booking should be found");
+        assertEquals(20, bitmap.findFreeRun(5, 30, 6), "Run after the last booking should be found");
+        assertEquals(12, bitmap.findFreeRun(10, 30, 2), "A gap of exactly the right size should be found");
+        assertEquals(OccupancyBitmap.NOT_FOUND, bitmap.findFreeRun(10, 22, 3), "No run should fit");
+        assertThrows(IllegalArgumentException.class, () -> bitmap.findFreeRun(0, 10, 0));
+    }
+
+    @Test
+    void testMatchesBooleanArray() {
+        int days = 2_000;
+        int offset = -500;
+        boolean[] expected = new boolean[days];
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(days);
+            int to = Math.min(days, from + random.nextInt(150));
+            boolean set = random.nextInt(3) > 0;
+            for (int d = from; d < to; d++) {
+                expected[d] = set;
+            }
+            if (set) {
+                bitmap.set(from + offset, to + offset);
+            } else {
+                bitmap.clear(from + offset, to + offset);
+            }
+
+            int queryFrom = random.nextInt(days);
+            int queryTo = Math.min(days, queryFrom + random.nextInt(300));
+            int count = 0;
+            int firstSet = queryTo;
+            for (int d = queryFrom; d < queryTo; d++) {
+                if (expected[d]) {
+                    count++;
+                    firstSet = Math.min(firstSet, d);
+                }
+            }
+            assertEquals(count, bitmap.cardinality(queryFrom + offset, queryTo + offset));
+            assertEquals(firstSet + offset, bitmap.nextSetDay(queryFrom + offset, queryTo + offset));
+            assertEquals(count == 0, bitmap.isClear(queryFrom + offset, queryTo + offset));
+        }
+        for (int d = 0; d < days; d++) {
+            assertEquals(expected[d], bitmap.get(d + offset), "Night " + d + " should match");
+        }
+    }
+
+    @Test
+    void testToBitSet() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.set(60, 70);
+        bitmap.set(130, 131);
+
+        BitSet bits = bitmap.toBitSet(65, 135);
+
+        assertEquals(6, bits.cardinality(), "Only booked nights inside the range should be copied");
+        assertTrue(bits.get(0), "Night 65 should be at offset 0");
+        assertTrue(bits.get(4), "Night 69 should be at offset 4");
+        assertFalse(bits.get(5), "Night 70 should be free");
+        assertTrue(bits.get(65), "Night 130 should be at offset 65");
+        assertTrue(bitmap.toBitSet(70, 70).isEmpty(), "Empty range should give no nights");
+    }
+}
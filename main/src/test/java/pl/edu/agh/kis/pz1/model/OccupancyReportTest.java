@@ -0,0 +1,105 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the OccupancyReport class.
+ * Verifies the totals of the hotel, of floors, of months and of days.
+ */
+class OccupancyReportTest {
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.addRoom(new Room(101, new BigDecimal("100.00"), 2, "Standard Room"));
+        hotel.addRoom(new Room(102, new BigDecimal("150.00"), 3, "Family Room"));
+        hotel.addRoom(new Room(201, new BigDecimal("200.00"), 2, "Suite"));
+        Guest guest = new Guest("Jan", "Kowalski", true);
+        // two nights in May and one in June
+        hotel.reserve(101, List.of(guest), LocalDate.of(2024, 5, 30), LocalDate.of(2024, 6, 2));
+        // one night inside and one night after the reported period
+        hotel.reserve(201, List.of(guest), LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 6));
+    }
+
+    @Test
+    void testHotelTotals() {
+        OccupancyReport report = OccupancyReport.generate(hotel, LocalDate.of(2024, 5, 29), LocalDate.of(2024, 6, 5));
+
+        OccupancyReport.Totals total = report.getTotal();
+        assertEquals(21, total.getRoomNights(), "Three rooms for seven nights");
+        assertEquals(4, total.getBookedNights(), "Only nights inside the period should count");
+        assertEquals(Money.parse("500.00"), total.getRevenue());
+        assertEquals(100.0 * 4 / 21, total.getOccupancyRate(), 1e-9);
+    }
+
+    @Test
+    void testTotalsByFloor() {
+        OccupancyReport report = OccupancyReport.generate(hotel, LocalDate.of(2024, 5, 29), LocalDate.of(2024, 6, 5));
+
+        assertEquals(List.of(1, 2), report.getFloors());
+        assertEquals(14, report.getFloor(1).getRoomNights());
+        assertEquals(3, report.getFloor(1).getBookedNights());
+        assertEquals(Money.parse("300.00"), report.getFloor(1).getRevenue());
+        assertEquals(Money.parse("200.00"), report.getFloor(2).getRevenue());
+        assertNull(report.getFloor(3), "Floor without rooms should have no totals");
+    }
+
+    @Test
+    void testTotalsByMonth() {
+        OccupancyReport report = OccupancyReport.generate(hotel, LocalDate.of(2024, 5, 29), LocalDate.of(2024, 6, 5));
+
+        assertEquals(List.of(YearMonth.of(2024, 5), YearMonth.of(2024, 6)), report.getMonths());
+        OccupancyReport.Totals may = report.getMonth(YearMonth.of(2024, 5));
+        OccupancyReport.Totals june = report.getMonth(YearMonth.of(2024, 6));
+        assertEquals(9, may.getRoomNights(), "May 29 to 31 for three rooms");
+        assertEquals(2, may.getBookedNights());
+        assertEquals(12, june.getRoomNights(), "June 1 to 4 for three rooms");
+        assertEquals(2, june.getBookedNights());
+        assertEquals(Money.parse("300.00"), june.getRevenue());
+    }
+
+    @Test
+    void testTotalsByDay() {
+        OccupancyReport report = OccupancyReport.generate(hotel, LocalDate.of(2024, 5, 29), LocalDate.of(2024, 6, 5));
+
+        assertEquals(0, report.getDay(LocalDate.of(2024, 5, 29)).getBookedNights());
+        assertEquals(1, report.getDay(LocalDate.of(2024, 6, 1)).getBookedNights());
+        assertEquals(3, report.getDay(LocalDate.of(2024, 6, 1)).getRoomNights());
+        assertEquals(Money.parse("200.00"), report.getDay(LocalDate.of(2024, 6, 4)).getRevenue());
+        assertNull(report.getDay(LocalDate.of(2024, 6, 5)), "End date should lie outside the period");
+    }
+
+    @Test
+    void testManyRoomsOverSeveralYears() {
+        Hotel large = new Hotel();
+        for (int i = 0; i < 500; i++) {
+            Room room = new Room(100 + i, new BigDecimal("10.00"), 2, "Room");
+            room.addReservation(List.of(), LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+            large.addRoom(room);
+        }
+
+        OccupancyReport report = OccupancyReport.generate(large, LocalDate.of(2023, 1, 1), LocalDate.of(2026, 1, 1));
+
+        assertEquals(500L * 366, report.getTotal().getBookedNights(), "Every room is booked for the leap year 2024");
+        assertEquals(500L * 1096, report.getTotal().getRoomNights());
+        assertEquals(36, report.getMonths().size());
+        assertEquals(Money.parse("1830000.00"), report.getTotal().getRevenue());
+    }
+
+    @Test
+    void testRejectsEmptyPeriod() {
+        LocalDate date = LocalDate.of(2024, 6, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> OccupancyReport.generate(hotel, date, date));
+    }
+}
@@ -89,4 +89,34 @@ class ReservationPeriodTest {
 
         assertEquals(expectedString, period.toString(), "toString should return the correct format");
     }
+
+    @Test
+    void testEpochDayRepresentation() {
+        ReservationPeriod period = new ReservationPeriod(LocalDate.of(1970, 1, 2), LocalDate.of(1970, 1, 5));
+
+        assertEquals(1, period.getCheckInEpochDay(), "Check-in should be one day after the epoch");
+        assertEquals(4, period.getCheckOutEpochDay(), "Check-out should be four days after the epoch");
+        assertEquals(3, period.getNights(), "Period should last three nights");
+        assertEquals(period, new ReservationPeriod(1, 4), "Periods built from dates and epoch days should be equal");
+        assertEquals(period.hashCode(), new ReservationPeriod(1, 4).hashCode(), "Hash codes should be equal");
+    }
+
+    @Test
+    void testEpochDayConstructorValidation() {
+        ReservationPeriod beforeEpoch = new ReservationPeriod(-3, -1);
+
+        assertEquals(LocalDate.of(1969, 12, 29), beforeEpoch.getCheckInDate(), "Negative epoch days should be supported");
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new ReservationPeriod(5, 5));
+        assertEquals("Check-in date must be before check-out date", exception.getMessage());
+    }
+
+    @Test
+    void testContains() {
+        ReservationPeriod period = new ReservationPeriod(10, 13);
+
+        assertTrue(period.contains(10), "Check-in day should be contained");
+        assertTrue(period.contains(13), "Check-out day should be contained");
+        assertFalse(period.contains(9), "Day before check-in should not be contained");
+        assertFalse(period.contains(14), "Day after check-out should not be contained");
+    }
 }
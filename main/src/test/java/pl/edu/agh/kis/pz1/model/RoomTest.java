@@ -65,6 +65,29 @@ class RoomTest {
         assertTrue(room.getReservations().isEmpty(), "Reservations list should be empty initially");
     }
 
+    @Test
+    void testPriceInCents() {
+        Room room = new Room(103, new BigDecimal("149.9"), 2, "Standard Room");
+
+        assertEquals(14990, room.getPrice().getCents(), "Price should be held in whole cents");
+        assertEquals(new BigDecimal("149.9"), room.getPricePerNight(), "Price per night should be kept as given");
+    }
+
+    @Test
+    void testPriceIsFormattedAsGiven() {
+        assertEquals("150", new Room(105, new BigDecimal("150"), 2, "Standard Room").getPricePerNight().toPlainString());
+        assertEquals("99.99", new Room(106, new BigDecimal("99.99"), 2, "Standard Room").getPricePerNight().toPlainString());
+        assertEquals("120.000", new Room(107, new BigDecimal("120.000"), 2, "Standard Room").getPricePerNight().toPlainString());
+        assertNull(new Room(108, null, 2, "Standard Room").getPricePerNight(), "A missing price should stay missing");
+    }
+
+    @Test
+    void testPriceWithFractionOfCentIsRejected() {
+        BigDecimal price = new BigDecimal("149.999");
+
+        assertThrows(IllegalArgumentException.class, () -> new Room(104, price, 2, "Standard Room"));
+    }
+
     @Test
     void testGettersAndSetters() {
         Room room = new Room(103, BigDecimal.valueOf(200.0), 4, "Suite");
@@ -136,6 +159,115 @@ class RoomTest {
         assertEquals(1, room.getReservations().size(), "Reservations list should still have 1 reservation");
     }
 
+    @Test
+    void testReservationsAreOrderedByCheckInDate() {
+        Room room = new Room(108, BigDecimal.valueOf(200.0), 2, "Double Room");
+        List<Guest> guests = List.of(new Guest("Alan", "Turing", true));
+
+        assertTrue(room.addReservation(guests, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 12)));
+        assertTrue(room.addReservation(guests, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5)));
+        assertTrue(room.addReservation(guests, LocalDate.of(2024, 3, 12), LocalDate.of(2024, 3, 15)),
+                "A stay may start on the day the previous one ends");
+        assertTrue(room.addReservation(guests, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 3, 10)),
+                "A stay filling the gap between two others should fit");
+
+        List<LocalDate> checkIns = room.getReservations().stream().map(r -> r.getPeriod().getCheckInDate()).toList();
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5),
+                LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 12)), checkIns);
+        assertThrows(UnsupportedOperationException.class, () -> room.getReservations().clear(),
+                "Reservations must be changed through the room");
+    }
+
+    @Test
+    void testOverlapWithEarlierAndEnclosingReservations() {
+        Room room = new Room(109, BigDecimal.valueOf(200.0), 2, "Double Room");
+        List<Guest> guests = List.of(new Guest("Ada", "Lovelace", true));
+        room.addReservation(guests, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20));
+        room.addReservation(guests, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3));
+
+        assertFalse(room.isAvailable(new ReservationPeriod(LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 12))),
+                "A period inside an existing reservation should conflict");
+        assertFalse(room.isAvailable(new ReservationPeriod(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 7, 1))),
+                "A period enclosing reservations should conflict");
+        assertFalse(room.isAvailable(new ReservationPeriod(LocalDate.of(2024, 5, 19), LocalDate.of(2024, 5, 25))),
+                "A period starting before an earlier reservation ends should conflict");
+        assertTrue(room.isAvailable(new ReservationPeriod(LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 1))),
+                "The gap between reservations should be available");
+    }
+
+    @Test
+    void testAddAndRemoveReservationObject() {
+        Room room = new Room(110, BigDecimal.valueOf(200.0), 2, "Double Room");
+        Reservation reservation = new Reservation(List.of(new Guest("Linus", "Torvalds", true)),
+                new ReservationPeriod(LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 4)));
+        Reservation overlapping = new Reservation(List.of(),
+                new ReservationPeriod(LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 2)));
+
+        assertTrue(room.addReservation(reservation));
+        assertFalse(room.addReservation(overlapping), "Overlapping reservation should be rejected");
+        assertFalse(room.removeReservation(overlapping), "Only a reservation with the same period should be removed");
+        assertTrue(room.removeReservation(reservation));
+        assertTrue(room.getReservations().isEmpty());
+        assertFalse(room.removeReservation(reservation), "Removing twice should report that nothing was removed");
+    }
+
+    @Test
+    void testOccupancyFollowsReservations() {
+        Room room = new Room(113, BigDecimal.valueOf(200.0), 2, "Double Room");
+        List<Guest> guests = List.of(new Guest("Grace", "Hopper", true));
+        room.addReservation(guests, LocalDate.of(2024, 2, 27), LocalDate.of(2024, 3, 2));
+        Reservation later = new Reservation(guests,
+                new ReservationPeriod(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 8)));
+        room.addReservation(later);
+
+        assertTrue(room.isBookedOn(LocalDate.of(2024, 2, 29)), "Leap day inside the stay should be booked");
+        assertFalse(room.isBookedOn(LocalDate.of(2024, 3, 2)), "Departure day should be free");
+        assertEquals(7, room.countBookedNights(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 1)));
+        assertEquals(LocalDate.of(2024, 3, 2), room.findFreeNights(LocalDate.of(2024, 2, 27), LocalDate.of(2024, 4, 1), 3),
+                "The three-night gap should be found");
+        assertNull(room.findFreeNights(LocalDate.of(2024, 2, 27), LocalDate.of(2024, 3, 8), 4),
+                "No four-night gap exists before the last departure");
+
+        room.removeReservation(later);
+        assertEquals(4, room.countBookedNights(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 1)),
+                "Removing a reservation should free its nights");
+        assertTrue(room.isAvailable(later.getPeriod()), "Removed period should be available again");
+    }
+
+    @Test
+    void testFindReservationOnDate() {
+        Room room = new Room(114, BigDecimal.valueOf(200.0), 2, "Double Room");
+        List<Guest> guests = List.of(new Guest("Edsger", "Dijkstra", true));
+        room.addReservation(guests, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 5));
+        room.addReservation(guests, LocalDate.of(2024, 4, 5), LocalDate.of(2024, 4, 8));
+        room.addReservation(guests, LocalDate.of(2024, 4, 20), LocalDate.of(2024, 4, 22));
+
+        assertEquals(LocalDate.of(2024, 4, 1), room.findReservationOn(LocalDate.of(2024, 4, 1)).getPeriod().getCheckInDate(),
+                "Check-in day should belong to the stay");
+        assertEquals(LocalDate.of(2024, 4, 1), room.findReservationOn(LocalDate.of(2024, 4, 5)).getPeriod().getCheckInDate(),
+                "On a changeover day the departing stay should be found");
+        assertEquals(LocalDate.of(2024, 4, 5), room.findReservationOn(LocalDate.of(2024, 4, 8)).getPeriod().getCheckInDate(),
+                "Check-out day should belong to the stay");
+        assertNull(room.findReservationOn(LocalDate.of(2024, 4, 10)), "A free day should have no reservation");
+        assertNull(room.findReservationOn(LocalDate.of(2024, 3, 31)), "A day before all stays should have no reservation");
+    }
+
+    @Test
+    void testRemoveReservationOnDate() {
+        Room room = new Room(115, BigDecimal.valueOf(200.0), 2, "Double Room");
+        List<Guest> guests = List.of(new Guest("Barbara", "Liskov", true));
+        room.addReservation(guests, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 5));
+        room.addReservation(guests, LocalDate.of(2024, 4, 5), LocalDate.of(2024, 4, 8));
+
+        Reservation removed = room.removeReservationOn(LocalDate.of(2024, 4, 5));
+
+        assertEquals(LocalDate.of(2024, 4, 1), removed.getPeriod().getCheckInDate(), "The departing stay should be removed");
+        assertEquals(1, room.getReservations().size());
+        assertFalse(room.isBookedOn(LocalDate.of(2024, 4, 2)), "Nights of the removed stay should be free");
+        assertTrue(room.isBookedOn(LocalDate.of(2024, 4, 5)), "Nights of the next stay should stay booked");
+        assertNull(room.removeReservationOn(LocalDate.of(2024, 4, 2)), "Nothing should be removed on a free day");
+    }
+
     @Test
     void testLevel() {
         Room room101 = new Room(101, BigDecimal.valueOf(100.0), 2, "Standard Room");
@@ -198,4 +330,20 @@ class RoomTest {
 
         assertEquals("Check-in date must be before check-out date", exception.getMessage(), "Exception message should indicate invalid dates");
     }
+
+    @Test
+    void testFindReservationForNight() {
+        Room room = new Room(101, new BigDecimal("100.0"), 2, "Standard Room");
+        Guest guest = new Guest("John", "Doe", true);
+        room.addReservation(List.of(guest), LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3));
+        room.addReservation(List.of(guest), LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4));
+
+        assertEquals(LocalDate.of(2024, 6, 1),
+                room.findReservationForNight(LocalDate.of(2024, 6, 2)).getPeriod().getCheckInDate());
+        assertEquals(LocalDate.of(2024, 6, 3),
+                room.findReservationForNight(LocalDate.of(2024, 6, 3)).getPeriod().getCheckInDate(),
+                "The arriving stay should own the night of a changeover day");
+        assertNull(room.findReservationForNight(LocalDate.of(2024, 6, 4)), "Night of departure should be free");
+        assertNull(room.findReservationForNight(LocalDate.of(2024, 5, 31)), "Night before the stays should be free");
+    }
 }
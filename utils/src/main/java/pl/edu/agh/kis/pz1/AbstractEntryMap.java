@@ -0,0 +1,390 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The AbstractEntryMap class holds the hash table shared by MyMap and IntObjectMap. Entries are kept
+ * in arrays in insertion order, and an open-addressing hash table with linear probing stores positions
+ * into those arrays. A removed mapping leaves a gap at its position, which is squeezed out when the
+ * arrays run full, and its table slot is emptied by backward-shift deletion, so the table never
+ * needs tombstones.
+ *
+ * Subclasses own the entry arrays: they find the slots of their keys, read and write the entries,
+ * and mark removed ones. This class keeps the table, the gaps and the statistics consistent with them.
+ *
+ * @param <K> The type of keys maintained by this map.
+ * @param <V> The type of values associated with the keys.
+ */
+abstract class AbstractEntryMap<K, V> implements Map<K, V> {
+    static final int DEFAULT_EXPECTED_SIZE = 12;
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    static final int MAX_ENTRY_CAPACITY = Integer.MAX_VALUE - 8;
+    static final int EMPTY = -1;
+    static final int GOLDEN_RATIO = 0x9E3779B9;
+    private static final int MIN_TABLE_CAPACITY = 4;
+    private static final int MAX_TABLE_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+    // slots hold entry positions or EMPTY; the home slot of a spread hash is hash >>> shift
+    int[] table;
+    int shift;
+    private int threshold;
+
+    // positions below used hold live or removed entries; size of them are live
+    int used;
+    int size;
+    int modCount;
+    MapStats stats;
+    // positions of the live entries in insertion order, built by the views while removed entries leave gaps
+    private volatile PositionIndex positionIndex;
+
+    /**
+     * Allocates the hash table; the subclass allocates entry arrays for the expected size.
+     *
+     * @throws IllegalArgumentException if the expected size is negative or the load factor is out of range.
+     */
+    AbstractEntryMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        if (!(loadFactor > 0f && loadFactor < 1f)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocateTable(tableCapacityFor(expectedSize));
+    }
+
+    /**
+     * @return The spread hash of the entry at the given position.
+     */
+    abstract int hashAt(int position);
+
+    /**
+     * @return true if the mapping at the given position has been removed.
+     */
+    abstract boolean isRemoved(int position);
+
+    /**
+     * @return The length of the entry arrays.
+     */
+    abstract int entryCapacity();
+
+    /**
+     * Copies the entry arrays into arrays of the given length.
+     */
+    abstract void resizeEntries(int capacity);
+
+    /**
+     * Copies the entry at one position to another, lower one.
+     */
+    abstract void moveEntry(int from, int to);
+
+    /**
+     * Clears the entries between the given positions, so the arrays hold no stale references.
+     */
+    abstract void clearEntries(int from, int to);
+
+    /**
+     * @return The estimated memory footprint of the entry arrays in bytes.
+     */
+    abstract long entryBytes();
+
+    /**
+     * Grows the map, if needed, so that it can hold the given number of mappings without resizing.
+     * Call this before adding many keys whose count is known in advance.
+     *
+     * @param expectedSize The number of mappings the map is expected to hold.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        int tableCapacity = Math.max(tableCapacityFor(expectedSize), table.length);
+        boolean entriesMoved = false;
+        if (expectedSize - size > entryCapacity() - used) {
+            entriesMoved = used > size;
+            squeezeRemoved();
+            resizeEntries(expectedSize);
+        }
+        if (entriesMoved || tableCapacity > table.length) {
+            resizeTable(tableCapacity);
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of mappings.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map contains no key-value mappings, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Starts collecting operation statistics: lookup hits and misses, probe lengths, resizes and compactions.
+     * Until this is called the map records nothing, so its operations carry no instrumentation cost.
+     * Calling it again has no effect.
+     */
+    public void enableStats() {
+        if (stats == null) {
+            stats = new MapStats();
+        }
+    }
+
+    /**
+     * Checks whether operation statistics are being collected.
+     *
+     * @return true if enableStats has been called, false otherwise.
+     */
+    public boolean isStatsEnabled() {
+        return stats != null;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this map. The size, capacities and estimated memory footprint
+     * are always filled in; the operation counters are zero unless statistics have been enabled.
+     *
+     * @return The statistics of this map.
+     */
+    public MapStats getStats() {
+        long footprint = MapStats.intArrayBytes(table.length) + entryBytes();
+        MapStats source = stats != null ? stats : new MapStats();
+        return source.snapshot(size, table.length, entryCapacity(), footprint);
+    }
+
+    /**
+     * Returns the number of slots inspected to reach the given slot from the home slot of the hash.
+     */
+    final int probeLength(int slot, int hash) {
+        return ((slot - (hash >>> shift)) & (table.length - 1)) + 1;
+    }
+
+    /**
+     * Makes sure an entry can be written at position used. Afterwards positions may have moved,
+     * so the caller has to find the free slot of its key again if this returns true.
+     *
+     * @return true if the entries were rearranged.
+     */
+    final boolean makeRoomForEntry() {
+        if (used < entryCapacity()) {
+            return false;
+        }
+        if (used - size >= (used >>> 1) && used > size) {
+            squeezeRemoved();
+            resizeTable(table.length);
+        } else {
+            resizeEntries(Math.max(entryCapacity() << 1, 2));
+        }
+        return true;
+    }
+
+    /**
+     * Records the entry the subclass has just written at position used, stored in the given free slot.
+     */
+    final void entryAdded(int slot) {
+        table[slot] = used;
+        used++;
+        size++;
+        modCount++;
+        if (size > threshold) {
+            resizeTable(table.length << 1);
+        }
+    }
+
+    /**
+     * Records the removal of the entry in the given slot, which the subclass has just marked as removed,
+     * and empties the slot.
+     */
+    final void entryRemoved(int slot) {
+        size--;
+        modCount++;
+        while (used > 0 && isRemoved(used - 1)) {
+            used--;
+        }
+        deleteSlot(slot);
+    }
+
+    /**
+     * Returns the entry position of the mapping at the given index of the views. While removed entries
+     * leave gaps, the positions of the live entries are collected once per modification and reused,
+     * so views never rearrange the map and can be read from several threads at once.
+     *
+     * @param index The position of the mapping in insertion order.
+     * @return the position in the entry arrays.
+     */
+    final int entryPosition(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (used == size) {
+            return index;
+        }
+        PositionIndex current = positionIndex;
+        if (current == null || current.modCount != modCount) {
+            int[] positions = new int[size];
+            int target = 0;
+            for (int i = 0; i < used; i++) {
+                if (!isRemoved(i)) {
+                    positions[target++] = i;
+                }
+            }
+            current = new PositionIndex(modCount, positions);
+            positionIndex = current;
+        }
+        return current.positions[index];
+    }
+
+    /**
+     * Empties the given slot and shifts back the following entries of its probe sequence,
+     * so that lookups never need tombstones in the table.
+     *
+     * @param slot The slot to be emptied.
+     */
+    private void deleteSlot(int slot) {
+        int mask = table.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            int index = table[next];
+            if (index == EMPTY) {
+                break;
+            }
+            int home = hashAt(index) >>> shift;
+            // the entry can fill the hole only if its home slot is not between the hole and its current slot
+            boolean movable = hole <= next
+                    ? (home <= hole || home > next)
+                    : (home <= hole && home > next);
+            if (movable) {
+                table[hole] = index;
+                hole = next;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    /**
+     * Moves all live entries to the front of the entry arrays, dropping the positions of removed entries.
+     * The hash table has to be rebuilt afterwards if any entry moved.
+     */
+    private void squeezeRemoved() {
+        int target = 0;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                if (i != target) {
+                    moveEntry(i, target);
+                }
+                target++;
+            }
+        }
+        if (target == used) {
+            return;
+        }
+        clearEntries(target, used);
+        used = target;
+        modCount++;
+        if (stats != null) {
+            stats.recordCompaction();
+        }
+    }
+
+    /**
+     * Rebuilds the hash table with the given number of slots from the entry arrays.
+     *
+     * @param newCapacity The new number of slots, a power of two.
+     */
+    private void resizeTable(int newCapacity) {
+        if (stats != null && newCapacity != table.length) {
+            stats.recordResize();
+        }
+        allocateTable(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                int slot = hashAt(i) >>> shift;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = i;
+            }
+        }
+    }
+
+    private void allocateTable(int capacity) {
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = capacity == MAX_TABLE_CAPACITY ? Integer.MAX_VALUE : (int) (capacity * loadFactor);
+    }
+
+    private int tableCapacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+        int capacity = MIN_TABLE_CAPACITY;
+        while (capacity < needed && capacity < MAX_TABLE_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * The positions of the live entries at one modification count of the map.
+     */
+    private static final class PositionIndex {
+        private final int modCount;
+        private final int[] positions;
+
+        private PositionIndex(int modCount, int[] positions) {
+            this.modCount = modCount;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * Iterates over the positions of live entries, skipping removed ones.
+     */
+    abstract class PositionIterator<T> implements Iterator<T> {
+        private int next = skipRemoved(0);
+        private final int expectedModCount = modCount;
+
+        private int skipRemoved(int position) {
+            while (position < used && isRemoved(position)) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            int position = next;
+            next = skipRemoved(next + 1);
+            return element(position);
+        }
+
+        abstract T element(int position);
+    }
+}
@@ -0,0 +1,385 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * The ConcurrentMyMap class is a thread-safe Map divided into independently locked segments.
+ * Each key is assigned to a segment by its hash, and put and remove only lock that segment,
+ * so updates of keys in different segments proceed in parallel on different cores.
+ *
+ * Reads never lock. Every segment keeps a hash table of chained nodes whose links are final,
+ * and writers publish new nodes and new tables through volatile writes, so get always sees a
+ * consistent chain. Iteration (keys, forEach and cursor) is weakly consistent: it never throws
+ * ConcurrentModificationException and reflects some of the changes made while it runs.
+ *
+ * Hashes are mixed by Fibonacci hashing, which leaves the best mixed bits at the top, so the highest
+ * bits choose the segment and the bits right below them choose the bucket within it, as in MyMap.
+ *
+ * Neither keys nor values may be null.
+ *
+ * @param <K> The type of keys maintained by this map.
+ * @param <V> The type of values associated with the keys.
+ */
+public class ConcurrentMyMap<K, V> implements Map<K, V> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 4;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs an empty ConcurrentMyMap with 16 segments.
+     */
+    public ConcurrentMyMap() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs an empty ConcurrentMyMap sized for the given number of concurrently writing threads.
+     *
+     * @param concurrencyLevel The expected number of threads updating the map at the same time.
+     * @throws IllegalArgumentException if the concurrency level is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentMyMap(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        int segmentCount = 1;
+        int bits = 0;
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENTS) {
+            segmentCount <<= 1;
+            bits++;
+        }
+        this.segmentShift = 32 - bits;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(bits);
+        }
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value. Only the segment of the key is locked.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be associated with the key.
+     * @throws NullPointerException if the key or the value is null.
+     */
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        int hash = hash(key);
+        segmentFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * Associates the value with the key only if the key is not already present.
+     *
+     * @param key   The key to be added.
+     * @param value The value to be associated with the key.
+     * @return The value already associated with the key, or null if the new value was stored.
+     * @throws NullPointerException if the key or the value is null.
+     */
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Retrieves the value associated with the key without locking.
+     *
+     * @param key The key whose associated value is to be returned.
+     * @return The value associated with the key, or null if the key is null or not present in the map.
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Removes the mapping for the key, if present. Only the segment of the key is locked.
+     *
+     * @param key The key to be removed.
+     */
+    @Override
+    public void remove(K key) {
+        if (key != null) {
+            int hash = hash(key);
+            segmentFor(hash).remove(key, hash);
+        }
+    }
+
+    /**
+     * Returns a list of the keys present in the map while it is being traversed.
+     *
+     * @return A list of keys.
+     */
+    @Override
+    public List<K> keys() {
+        List<K> result = new ArrayList<>(size());
+        forEach((key, value) -> result.add(key));
+        return result;
+    }
+
+    /**
+     * Returns the number of mappings, summed over the segments without locking them.
+     *
+     * @return The number of mappings.
+     */
+    @Override
+    public int size() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if no segment contains a mapping, false otherwise.
+     */
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs the given action for each mapping, with weakly consistent traversal.
+     *
+     * @param action The action to be performed for each key and its value.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    action.accept(node.key, node.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent cursor over the mappings.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    @Override
+    public MapCursor<K, V> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the length of the longest hash chain over all segments, for tests of the hash distribution.
+     *
+     * @return The number of nodes in the longest chain.
+     */
+    int longestChain() {
+        int longest = 0;
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                int length = 0;
+                for (Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    length++;
+                }
+                longest = Math.max(longest, length);
+            }
+        }
+        return longest;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) * GOLDEN_RATIO;
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * A node of a hash chain. Links are final, so a chain read without locking is never torn.
+     */
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A lock-protected hash table holding the keys of one segment.
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        // the number of top hash bits that choose the segment; the bucket is taken from the bits below them
+        private final int segmentBits;
+        private volatile AtomicReferenceArray<Node<K, V>> table =
+                new AtomicReferenceArray<>(DEFAULT_SEGMENT_CAPACITY);
+        private volatile int count;
+
+        Segment(int segmentBits) {
+            this.segmentBits = segmentBits;
+        }
+
+        /**
+         * Returns the bucket of a hash in a table of the given power-of-two length.
+         */
+        private int indexFor(int hash, int length) {
+            return (hash << segmentBits) >>> (32 - Integer.numberOfTrailingZeros(length));
+        }
+
+        V get(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            for (Node<K, V> node = tab.get(indexFor(hash, tab.length())); node != null; node = node.next) {
+                if (node.hash == hash && key.equals(node.key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+
+        V put(K key, int hash, V value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = indexFor(hash, tab.length());
+                Node<K, V> first = tab.get(index);
+                for (Node<K, V> node = first; node != null; node = node.next) {
+                    if (node.hash == hash && key.equals(node.key)) {
+                        V old = node.value;
+                        if (!onlyIfAbsent) {
+                            node.value = value;
+                        }
+                        return old;
+                    }
+                }
+                if (count + 1 > tab.length() * LOAD_FACTOR) {
+                    tab = rehash(tab);
+                    index = indexFor(hash, tab.length());
+                    first = tab.get(index);
+                }
+                tab.set(index, new Node<>(hash, key, value, first));
+                count = count + 1;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        void remove(Object key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = indexFor(hash, tab.length());
+                Node<K, V> first = tab.get(index);
+                Node<K, V> target = first;
+                while (target != null && !(target.hash == hash && key.equals(target.key))) {
+                    target = target.next;
+                }
+                if (target == null) {
+                    return;
+                }
+                // nodes before the removed one are copied, so concurrent readers keep a valid chain
+                Node<K, V> head = target.next;
+                for (Node<K, V> node = first; node != target; node = node.next) {
+                    head = new Node<>(node.hash, node.key, node.value, head);
+                }
+                tab.set(index, head);
+                count = count - 1;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Copies all nodes into a table twice as large and publishes it. Called with the lock held.
+         */
+        private AtomicReferenceArray<Node<K, V>> rehash(AtomicReferenceArray<Node<K, V>> oldTable) {
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(oldTable.length() << 1);
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = indexFor(node.hash, newTable.length());
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+            table = newTable;
+            return newTable;
+        }
+    }
+
+    private final class Cursor implements MapCursor<K, V> {
+        private int segmentIndex;
+        private AtomicReferenceArray<Node<K, V>> table = segments[0].table;
+        private int bucket = -1;
+        private Node<K, V> current;
+
+        @Override
+        public boolean advance() {
+            if (current != null) {
+                current = current.next;
+            }
+            while (current == null) {
+                bucket++;
+                if (bucket >= table.length()) {
+                    segmentIndex++;
+                    if (segmentIndex >= segments.length) {
+                        bucket = table.length();
+                        return false;
+                    }
+                    table = segments[segmentIndex].table;
+                    bucket = -1;
+                    continue;
+                }
+                current = table.get(bucket);
+            }
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return currentNode().key;
+        }
+
+        @Override
+        public V value() {
+            return currentNode().value;
+        }
+
+        private Node<K, V> currentNode() {
+            if (current == null) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+
+/**
+ * The IntObjectMap class is a map specialized for primitive int keys. Keys are stored in a plain
+ * int array and values in a parallel object array, both in insertion order, and an open-addressing
+ * hash table with linear probing stores positions into those arrays. Lookups through the int-taking
+ * methods never box the key and no per-entry node objects are allocated. The keys and values
+ * returned by this class are read-only views backed by the map, and cursor exposes the primitive
+ * key of every mapping, so a full scan allocates nothing proportional to the size of the map.
+ *
+ * The class also implements the generic Map interface with Integer keys, so it can be used wherever
+ * a Map is expected; those methods simply unbox the key and delegate to the primitive ones.
+ *
+ * @param <V> The type of values associated with the keys.
+ */
+public class IntObjectMap<V> extends AbstractEntryMap<Integer, V> {
+    // stored in place of the value of an entry position whose mapping has been removed
+    private static final Object REMOVED = new Object();
+
+    private int[] keys;
+    private Object[] values;
+
+    /**
+     * Constructs an empty IntObjectMap with the default capacity and load factor (0.75).
+     */
+    public IntObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty IntObjectMap able to hold the given number of mappings without resizing.
+     *
+     * @param expectedSize The number of mappings the map is expected to hold.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public IntObjectMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty IntObjectMap able to hold the given number of mappings without resizing,
+     * using the specified load factor.
+     *
+     * @param expectedSize The number of mappings the map is expected to hold.
+     * @param loadFactor   The maximum ratio of mappings to table slots, strictly between 0 and 1.
+     * @throws IllegalArgumentException if the expected size is negative or the load factor is out of range.
+     */
+    public IntObjectMap(int expectedSize, float loadFactor) {
+        super(expectedSize, loadFactor);
+        int entryCapacity = Math.max(expectedSize, 1);
+        this.keys = new int[entryCapacity];
+        this.values = new Object[entryCapacity];
+    }
+
+    /**
+     * Associates the value with the given int key. If the key already exists, its value is updated.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be associated with the specified key.
+     */
+    public void put(int key, V value) {
+        int slot = findSlot(key);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordPut(probeLength(slot, key * GOLDEN_RATIO));
+        }
+        if (index != EMPTY) {
+            values[index] = value;
+            return;
+        }
+        if (makeRoomForEntry()) {
+            slot = findSlot(key);
+        }
+        keys[used] = key;
+        values[used] = value;
+        entryAdded(slot);
+    }
+
+    /**
+     * Retrieves the value associated with the given int key.
+     *
+     * @param key The key whose associated value is to be returned.
+     * @return The value associated with the key, or null if the key is not present in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = findSlot(key);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordLookup(probeLength(slot, key * GOLDEN_RATIO), index != EMPTY);
+        }
+        if (index == EMPTY) {
+            return null;
+        }
+        return (V) values[index];
+    }
+
+    /**
+     * Checks whether the map contains a mapping for the given int key.
+     *
+     * @param key The key to look for.
+     * @return true if the key is present in the map, false otherwise.
+     */
+    public boolean containsKey(int key) {
+        int slot = findSlot(key);
+        boolean found = table[slot] != EMPTY;
+        if (stats != null) {
+            stats.recordLookup(probeLength(slot, key * GOLDEN_RATIO), found);
+        }
+        return found;
+    }
+
+    /**
+     * Removes the mapping for the given int key, if present.
+     *
+     * @param key The key to be removed.
+     */
+    public void remove(int key) {
+        int slot = findSlot(key);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordRemove(probeLength(slot, key * GOLDEN_RATIO));
+        }
+        if (index == EMPTY) {
+            return;
+        }
+        values[index] = REMOVED;
+        entryRemoved(slot);
+    }
+
+    /**
+     * Associates the value with the given key.
+     *
+     * @param key   The key to be added or updated, must not be null.
+     * @param value The value to be associated with the specified key.
+     */
+    @Override
+    public void put(Integer key, V value) {
+        put(key.intValue(), value);
+    }
+
+    /**
+     * Retrieves the value associated with the given key.
+     *
+     * @param key The key whose associated value is to be returned.
+     * @return The value associated with the key, or null if the key is null or not present in the map.
+     */
+    @Override
+    public V get(Integer key) {
+        return key == null ? null : get(key.intValue());
+    }
+
+    /**
+     * Removes the mapping for the given key, if present.
+     *
+     * @param key The key to be removed.
+     */
+    @Override
+    public void remove(Integer key) {
+        if (key != null) {
+            remove(key.intValue());
+        }
+    }
+
+    /**
+     * Copies all mappings of the given map into this map, replacing the values of keys that are already present.
+     * The map is grown once for all incoming mappings before copying, so a bulk load of n mappings
+     * runs in O(n) time without repeated resizing. Mappings of another IntObjectMap are copied
+     * through its primitive keys without boxing.
+     *
+     * @param map The map whose mappings are to be copied; it must not contain a null key.
+     */
+    public void putAll(Map<Integer, ? extends V> map) {
+        ensureCapacity((int) Math.min((long) size + map.size(), MAX_ENTRY_CAPACITY));
+        if (map instanceof IntObjectMap) {
+            IntObjectMap<? extends V>.Cursor cursor = ((IntObjectMap<? extends V>) map).cursor();
+            while (cursor.advance()) {
+                put(cursor.intKey(), cursor.value());
+            }
+        } else {
+            map.forEach(this::put);
+        }
+    }
+
+    /**
+     * Returns a read-only view of all keys stored in the map, in insertion order.
+     * The view reflects later changes to the map; keys are boxed when read from it.
+     *
+     * @return A list of keys.
+     */
+    @Override
+    public List<Integer> keys() {
+        return new KeyView();
+    }
+
+    /**
+     * Returns a read-only view of all values stored in the map, in insertion order of their keys.
+     * The view reflects later changes to the map.
+     *
+     * @return A list of values.
+     */
+    public List<V> getValues() {
+        return new ValueView();
+    }
+
+    /**
+     * Performs the given action for each mapping in insertion order.
+     *
+     * @param action The action to be performed for each key and its value.
+     * @throws ConcurrentModificationException if the action adds or removes keys.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Integer, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < used; i++) {
+            Object value = values[i];
+            if (value != REMOVED) {
+                action.accept(keys[i], (V) value);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor walking the mappings in insertion order. Besides the boxed key,
+     * the cursor exposes the primitive key through {@link Cursor#intKey()}.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    @Override
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int findSlot(int key) {
+        int mask = table.length - 1;
+        int slot = (key * GOLDEN_RATIO) >>> shift;
+        while (true) {
+            int index = table[slot];
+            if (index == EMPTY || keys[index] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    int hashAt(int position) {
+        return keys[position] * GOLDEN_RATIO;
+    }
+
+    @Override
+    boolean isRemoved(int position) {
+        return values[position] == REMOVED;
+    }
+
+    @Override
+    int entryCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    void resizeEntries(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void moveEntry(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearEntries(int from, int to) {
+        Arrays.fill(values, from, to, null);
+    }
+
+    @Override
+    long entryBytes() {
+        return MapStats.intArrayBytes(keys.length) + MapStats.referenceArrayBytes(values.length);
+    }
+
+    /**
+     * Cursor over the mappings of an IntObjectMap, giving access to the primitive key.
+     */
+    public final class Cursor implements MapCursor<Integer, V> {
+        private int position = -1;
+        private final int expectedModCount = modCount;
+
+        private Cursor() {
+        }
+
+        @Override
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            do {
+                position++;
+            } while (position < used && values[position] == REMOVED);
+            return position < used;
+        }
+
+        /**
+         * Returns the primitive key of the mapping the cursor currently points at.
+         *
+         * @return The current key.
+         * @throws IllegalStateException if the cursor does not point at a mapping.
+         */
+        public int intKey() {
+            checkPosition();
+            return keys[position];
+        }
+
+        @Override
+        public Integer key() {
+            return intKey();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkPosition();
+            return (V) values[position];
+        }
+
+        private void checkPosition() {
+            if (position < 0 || position >= used) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+        }
+    }
+
+    private final class KeyView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return keys[entryPosition(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                Integer element(int position) {
+                    return keys[position];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && containsKey((Integer) o);
+        }
+    }
+
+    private final class ValueView extends AbstractList<V> implements RandomAccess {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            return (V) values[entryPosition(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                V element(int position) {
+                    return (V) values[position];
+                }
+            };
+        }
+    }
+}
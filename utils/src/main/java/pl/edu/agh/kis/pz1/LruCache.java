@@ -0,0 +1,364 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * The LruCache class is a bounded Map that evicts the least recently used mappings once its limit is exceeded.
+ * The limit is either a maximum number of mappings or a maximum total weight, where the weight of each mapping
+ * is computed by a user-supplied function, for example from the length of a cached string.
+ *
+ * Mappings are indexed by a MyMap and linked into a doubly-linked list in order of use, so get, put and
+ * remove all run in expected O(1) time. A successful get or a put marks the mapping as most recently used;
+ * iteration (keys, forEach and cursor) goes from the least to the most recently used mapping and does not
+ * change that order. The cache counts hits, misses and evictions.
+ *
+ * Neither keys nor values may be null. The class is not thread-safe.
+ *
+ * @param <K> The type of keys maintained by this cache.
+ * @param <V> The type of cached values.
+ */
+public class LruCache<K, V> implements Map<K, V> {
+    private static final int MAX_INITIAL_CAPACITY = 1 << 10;
+
+    private final MyMap<K, Node<K, V>> index;
+    private final long maxWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    // sentinel of the circular usage list: head.next is the eldest mapping, head.prev the most recent one
+    private final Node<K, V> head = new Node<>(null, null, 0);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int modCount;
+
+    /**
+     * Constructs an empty LruCache holding at most the given number of mappings.
+     *
+     * @param maxSize The maximum number of mappings.
+     * @throws IllegalArgumentException if the maximum size is not positive.
+     */
+    public LruCache(int maxSize) {
+        this(maxSize, (key, value) -> 1);
+    }
+
+    /**
+     * Constructs an empty LruCache whose mappings may weigh at most the given total weight.
+     *
+     * @param maxWeight The maximum total weight of the mappings.
+     * @param weigher   The function computing the weight of a mapping; it must not return a negative number.
+     * @throws IllegalArgumentException if the maximum weight is not positive.
+     * @throws NullPointerException     if the weigher is null.
+     */
+    public LruCache(long maxWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = Objects.requireNonNull(weigher, "Weigher cannot be null");
+        this.index = new MyMap<>((int) Math.min(maxWeight, MAX_INITIAL_CAPACITY));
+        head.prev = head;
+        head.next = head;
+    }
+
+    /**
+     * Associates the value with the key and marks the mapping as most recently used. If the total weight
+     * then exceeds the limit, the least recently used mappings are evicted. A mapping heavier than the whole
+     * limit is evicted right away without touching the other mappings; an older value of the same key is
+     * removed along with it, so it is never returned afterwards.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be cached.
+     * @throws NullPointerException     if the key or the value is null.
+     * @throws IllegalArgumentException if the weigher returns a negative weight.
+     */
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + entryWeight);
+        }
+        Node<K, V> node = index.get(key);
+        if (entryWeight > maxWeight) {
+            if (node != null) {
+                removeNode(node);
+            }
+            evictions++;
+            return;
+        }
+        if (node != null) {
+            weight += entryWeight - node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            unlink(node);
+        } else {
+            node = new Node<>(key, value, entryWeight);
+            index.put(key, node);
+            weight += entryWeight;
+        }
+        linkLast(node);
+        modCount++;
+        evictIfNeeded();
+    }
+
+    /**
+     * Returns the cached value for the key and marks the mapping as most recently used.
+     * Every call counts as either a hit or a miss.
+     *
+     * @param key The key whose cached value is to be returned.
+     * @return The cached value, or null if the key is not in the cache.
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = key == null ? null : index.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (node != head.prev) {
+            unlink(node);
+            linkLast(node);
+            modCount++;
+        }
+        return node.value;
+    }
+
+    /**
+     * Checks whether the key is in the cache, without marking it as used or counting a hit or miss.
+     *
+     * @param key The key to look for.
+     * @return true if the key is cached, false otherwise.
+     */
+    public boolean containsKey(K key) {
+        return key != null && index.get(key) != null;
+    }
+
+    /**
+     * Removes the mapping for the key, if present. Removals are not counted as evictions.
+     *
+     * @param key The key to be removed.
+     */
+    @Override
+    public void remove(K key) {
+        Node<K, V> node = key == null ? null : index.get(key);
+        if (node != null) {
+            removeNode(node);
+        }
+    }
+
+    /**
+     * Removes all mappings. The statistics are kept.
+     */
+    public void clear() {
+        for (Node<K, V> node = head.next; node != head; node = node.next) {
+            index.remove(node.key);
+        }
+        head.next = head;
+        head.prev = head;
+        weight = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the keys of the cache, from the least to the most recently used one.
+     *
+     * @return A new list of keys.
+     */
+    @Override
+    public List<K> keys() {
+        List<K> result = new ArrayList<>(index.size());
+        for (Node<K, V> node = head.next; node != head; node = node.next) {
+            result.add(node.key);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of cached mappings.
+     *
+     * @return The number of mappings.
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Checks if the cache is empty.
+     *
+     * @return true if the cache contains no mappings, false otherwise.
+     */
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Performs the given action for each mapping, from the least to the most recently used one.
+     * The order of use is not changed.
+     *
+     * @param action The action to be performed for each key and its value.
+     * @throws ConcurrentModificationException if the cache is modified by the action.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (Node<K, V> node = head.next; node != head; node = node.next) {
+            action.accept(node.key, node.value);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over the mappings, from the least to the most recently used one.
+     * Reading through the cursor does not change the order of use.
+     *
+     * @return A cursor positioned before the eldest mapping.
+     */
+    @Override
+    public MapCursor<K, V> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the total weight of the cached mappings; with a size limit this equals the size.
+     *
+     * @return The current weight.
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the maximum total weight (or number of mappings) the cache holds.
+     *
+     * @return The weight limit.
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the number of get calls that found their key.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of get calls that did not find their key.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of get calls that found their key.
+     *
+     * @return The hit rate between 0 and 1, or 0 if get has not been called.
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns the number of mappings evicted because the limit was exceeded.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    private void evictIfNeeded() {
+        while (weight > maxWeight && head.next != head) {
+            removeNode(head.next);
+            evictions++;
+        }
+    }
+
+    private void removeNode(Node<K, V> node) {
+        unlink(node);
+        index.remove(node.key);
+        weight -= node.weight;
+        modCount++;
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+    }
+
+    /**
+     * A cached mapping linked into the usage list.
+     */
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final class Cursor implements MapCursor<K, V> {
+        private Node<K, V> current = head;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (current == null || current.next == head) {
+                // null marks a cursor that has moved past the most recent mapping
+                current = null;
+                return false;
+            }
+            current = current.next;
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return currentNode().key;
+        }
+
+        @Override
+        public V value() {
+            return currentNode().value;
+        }
+
+        private Node<K, V> currentNode() {
+            if (current == null || current == head) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+            return current;
+        }
+    }
+}
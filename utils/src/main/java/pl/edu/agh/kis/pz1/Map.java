@@ -1,6 +1,7 @@
 package pl.edu.agh.kis.pz1;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * The Map interface defines basic operations for a map data structure,
@@ -28,7 +29,8 @@ public interface Map<K, V> {
     V get(K key);
 
     /**
-     * Returns a list of all keys contained in this map.
+     * Returns a list of all keys contained in this map. Implementations may return a read-only
+     * view backed by the map instead of a copy.
      *
      * @return A list of all keys in this map.
      */
@@ -41,5 +43,26 @@ public interface Map<K, V> {
      */
     void remove(K key);
 
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return The number of mappings in this map.
+     */
+    int size();
+
+    /**
+     * Performs the given action for each mapping in this map, without copying the map.
+     *
+     * @param action The action to be performed for each key and its value.
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+
+    /**
+     * Returns a cursor over the mappings of this map, which walks the map without allocating
+     * an entry object per mapping.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    MapCursor<K, V> cursor();
 
 }
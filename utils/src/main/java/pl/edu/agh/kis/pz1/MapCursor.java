@@ -0,0 +1,41 @@
+package pl.edu.agh.kis.pz1;
+
+/**
+ * The MapCursor interface allows walking over the mappings of a Map without creating
+ * an entry object for every mapping. A cursor starts before the first mapping; each call to
+ * advance moves it to the next one, after which key and value describe the current mapping.
+ *
+ * <pre>
+ * MapCursor&lt;K, V&gt; cursor = map.cursor();
+ * while (cursor.advance()) {
+ *     use(cursor.key(), cursor.value());
+ * }
+ * </pre>
+ *
+ * @param <K> The type of keys maintained by the map.
+ * @param <V> The type of values associated with the keys.
+ */
+public interface MapCursor<K, V> {
+    /**
+     * Moves the cursor to the next mapping.
+     *
+     * @return true if the cursor points at a mapping, false if there are no more mappings.
+     */
+    boolean advance();
+
+    /**
+     * Returns the key of the mapping the cursor currently points at.
+     *
+     * @return The current key.
+     * @throws IllegalStateException if the cursor does not point at a mapping.
+     */
+    K key();
+
+    /**
+     * Returns the value of the mapping the cursor currently points at.
+     *
+     * @return The current value.
+     * @throws IllegalStateException if the cursor does not point at a mapping.
+     */
+    V value();
+}
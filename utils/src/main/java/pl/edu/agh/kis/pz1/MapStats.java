@@ -0,0 +1,270 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The MapStats class holds statistics about the internals of a hash map: how many lookups, insertions
+ * and removals were made, how many table slots they had to probe, how often the table was resized or
+ * compacted, and how much memory the map's own arrays take.
+ *
+ * Operation counters are only collected once statistics have been enabled on the map, so maps that do
+ * not use them pay nothing on their lookup path. The structural values (size, capacities and footprint)
+ * are filled in whenever a snapshot is taken. Instances returned by the maps are snapshots and do not
+ * change afterwards.
+ *
+ * Counters are LongAdders, so lookups made by many threads at once, which the maps allow as long as no
+ * thread modifies them, are all counted without making the threads contend on a shared field.
+ */
+public final class MapStats {
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAccumulator maxProbeLength = new LongAccumulator(Math::max, 0);
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    private int size;
+    private int tableCapacity;
+    private int entryCapacity;
+    private long footprintBytes;
+
+    MapStats() {
+    }
+
+    void recordLookup(int probeLength, boolean hit) {
+        lookups.increment();
+        if (hit) {
+            hits.increment();
+        }
+        recordProbes(probeLength);
+    }
+
+    void recordPut(int probeLength) {
+        puts.increment();
+        recordProbes(probeLength);
+    }
+
+    void recordRemove(int probeLength) {
+        removes.increment();
+        recordProbes(probeLength);
+    }
+
+    void recordResize() {
+        resizes.increment();
+    }
+
+    void recordCompaction() {
+        compactions.increment();
+    }
+
+    private void recordProbes(int probeLength) {
+        probes.add(probeLength);
+        maxProbeLength.accumulate(probeLength);
+    }
+
+    /**
+     * Returns a copy of the collected counters completed with the current structure of the map.
+     *
+     * @param size           The number of mappings.
+     * @param tableCapacity  The number of hash table slots.
+     * @param entryCapacity  The length of the entry arrays.
+     * @param footprintBytes The estimated memory taken by the map's arrays.
+     * @return A new MapStats instance.
+     */
+    MapStats snapshot(int size, int tableCapacity, int entryCapacity, long footprintBytes) {
+        MapStats copy = new MapStats();
+        copy.lookups.add(lookups.sum());
+        copy.hits.add(hits.sum());
+        copy.puts.add(puts.sum());
+        copy.removes.add(removes.sum());
+        copy.probes.add(probes.sum());
+        copy.maxProbeLength.accumulate(maxProbeLength.get());
+        copy.resizes.add(resizes.sum());
+        copy.compactions.add(compactions.sum());
+        copy.size = size;
+        copy.tableCapacity = tableCapacity;
+        copy.entryCapacity = entryCapacity;
+        copy.footprintBytes = footprintBytes;
+        return copy;
+    }
+
+    /**
+     * Estimates the memory taken by an int array, assuming a 16-byte array header.
+     *
+     * @param length The length of the array.
+     * @return The size of the array in bytes.
+     */
+    static long intArrayBytes(int length) {
+        return ARRAY_HEADER_BYTES + 4L * length;
+    }
+
+    /**
+     * Estimates the memory taken by an object array, assuming a 16-byte array header
+     * and compressed 4-byte references. The referenced objects are not included.
+     *
+     * @param length The length of the array.
+     * @return The size of the array in bytes.
+     */
+    static long referenceArrayBytes(int length) {
+        return ARRAY_HEADER_BYTES + REFERENCE_BYTES * length;
+    }
+
+    /**
+     * Returns the number of lookups (get and containsKey calls).
+     *
+     * @return The number of lookups.
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found their key.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find their key.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return getLookups() - getHits();
+    }
+
+    /**
+     * Returns the fraction of lookups that found their key.
+     *
+     * @return The hit rate between 0 and 1, or 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long lookupCount = getLookups();
+        return lookupCount == 0 ? 0.0 : (double) getHits() / lookupCount;
+    }
+
+    /**
+     * Returns the number of put calls, both insertions and updates.
+     *
+     * @return The number of puts.
+     */
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    /**
+     * Returns the number of remove calls, including those for absent keys.
+     *
+     * @return The number of removes.
+     */
+    public long getRemoves() {
+        return removes.sum();
+    }
+
+    /**
+     * Returns the average number of table slots inspected by a lookup, put or remove.
+     * A value of 1 means every key was found in, or missing from, its home slot.
+     *
+     * @return The average probe length, or 0 if no operation was recorded.
+     */
+    public double getAverageProbeLength() {
+        long operations = getLookups() + getPuts() + getRemoves();
+        return operations == 0 ? 0.0 : (double) probes.sum() / operations;
+    }
+
+    /**
+     * Returns the longest probe sequence seen by a single operation.
+     *
+     * @return The maximum probe length.
+     */
+    public int getMaxProbeLength() {
+        return (int) maxProbeLength.get();
+    }
+
+    /**
+     * Returns how many times the hash table was rebuilt with a larger capacity.
+     *
+     * @return The number of resizes.
+     */
+    public long getResizes() {
+        return resizes.sum();
+    }
+
+    /**
+     * Returns how many times the positions of removed entries were squeezed out of the entry arrays.
+     *
+     * @return The number of compactions.
+     */
+    public long getCompactions() {
+        return compactions.sum();
+    }
+
+    /**
+     * Returns the number of mappings at the time of the snapshot.
+     *
+     * @return The size of the map.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of hash table slots at the time of the snapshot.
+     *
+     * @return The table capacity.
+     */
+    public int getTableCapacity() {
+        return tableCapacity;
+    }
+
+    /**
+     * Returns the length of the entry arrays at the time of the snapshot.
+     *
+     * @return The entry capacity.
+     */
+    public int getEntryCapacity() {
+        return entryCapacity;
+    }
+
+    /**
+     * Returns the ratio of mappings to hash table slots.
+     *
+     * @return The fill ratio of the table.
+     */
+    public double getFillRatio() {
+        return tableCapacity == 0 ? 0.0 : (double) size / tableCapacity;
+    }
+
+    /**
+     * Returns the estimated number of bytes taken by the arrays of the map, excluding the keys and values themselves.
+     *
+     * @return The memory footprint in bytes.
+     */
+    public long getFootprintBytes() {
+        return footprintBytes;
+    }
+
+    /**
+     * Returns a one-line summary of the statistics.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "size=%d, table=%d, entries=%d, fill=%.2f, footprint=%dB, lookups=%d, hitRate=%.2f, puts=%d, "
+                        + "removes=%d, avgProbe=%.2f, maxProbe=%d, resizes=%d, compactions=%d",
+                size, tableCapacity, entryCapacity, getFillRatio(), footprintBytes, getLookups(), getHitRate(),
+                getPuts(), getRemoves(), getAverageProbeLength(), getMaxProbeLength(), getResizes(), getCompactions());
+    }
+}
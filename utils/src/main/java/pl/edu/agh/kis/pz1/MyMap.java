@@ -1,28 +1,69 @@
 package pl.edu.agh.kis.pz1;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
- * The MyMap class implements a custom Map data structure that stores keys and their corresponding
- * values in two separate lists. Each key in the 'keys' list has a corresponding value in the 'values'
- * list at the same index. The class supports basic operations such as adding, retrieving, and removing elements.
+ * The MyMap class implements a custom Map data structure backed by an open-addressing hash table
+ * with linear probing. Entries are kept in compact arrays in insertion order, and the hash table
+ * itself only stores positions into those arrays, so lookups, insertions and removals run in
+ * expected O(1) time while iteration still follows the order in which keys were first added.
+ * The table is resized automatically once the number of mappings exceeds the configured load factor.
+ *
+ * The keys, values and entry set returned by this class are read-only views backed by the map rather
+ * than copies, and forEach and cursor walk the entry arrays directly, so scanning the whole map does not
+ * allocate anything proportional to its size. Views and cursors fail with a ConcurrentModificationException
+ * if keys are added or removed while they are being iterated.
  *
  * @param <K> The type of keys maintained by this map.
  * @param <V> The type of values associated with the keys.
  */
-public class MyMap<K, V> implements Map<K, V> {
-    private List<K> keys;
-    private List<V> values;
+public class MyMap<K, V> extends AbstractEntryMap<K, V> {
+    // marks an entry position whose mapping has been removed
+    private static final Object REMOVED = new Object();
+
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
 
     /**
-     * Constructs a MyMap object. Initializes empty lists for keys and values.
+     * Constructs an empty MyMap with the default capacity and load factor (0.75).
      */
     public MyMap() {
-        this.keys = new ArrayList<>();
-        this.values = new ArrayList<>();
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty MyMap able to hold the given number of mappings without resizing.
+     *
+     * @param expectedSize The number of mappings the map is expected to hold.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public MyMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty MyMap able to hold the given number of mappings without resizing,
+     * using the specified load factor.
+     *
+     * @param expectedSize The number of mappings the map is expected to hold.
+     * @param loadFactor   The maximum ratio of mappings to table slots, strictly between 0 and 1.
+     * @throws IllegalArgumentException if the expected size is negative or the load factor is out of range.
+     */
+    public MyMap(int expectedSize, float loadFactor) {
+        super(expectedSize, loadFactor);
+        int entryCapacity = Math.max(expectedSize, 1);
+        this.hashes = new int[entryCapacity];
+        this.keys = new Object[entryCapacity];
+        this.values = new Object[entryCapacity];
     }
 
     /**
@@ -33,13 +74,24 @@ public class MyMap<K, V> implements Map<K, V> {
      */
     @Override
     public void put(K key, V value) {
-        int index = keys.indexOf(key);
-        if (index == -1) {
-            keys.add(key);
-            values.add(value);
-        } else {
-            values.set(index, value);
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordPut(probeLength(slot, hash));
+        }
+        if (index != EMPTY) {
+            values[index] = value;
+            return;
+        }
+        if (makeRoomForEntry()) {
+            // positions may have moved, so the free slot has to be found again
+            slot = findSlot(key, hash);
         }
+        hashes[used] = hash;
+        keys[used] = key;
+        values[used] = value;
+        entryAdded(slot);
     }
 
     /**
@@ -49,32 +101,40 @@ public class MyMap<K, V> implements Map<K, V> {
      * @return The value associated with the key, or null if the key is not present in the map.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public V get(K key) {
-        int index = keys.indexOf(key);
-        if (index == -1) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordLookup(probeLength(slot, hash), index != EMPTY);
+        }
+        if (index == EMPTY) {
             return null;
         }
-        return values.get(index);
+        return (V) values[index];
     }
 
     /**
-     * Returns a list of all keys stored in the map.
+     * Returns a read-only view of all keys stored in the map, in insertion order.
+     * The view reflects later changes to the map.
      *
      * @return A list of keys.
      */
     @Override
     public List<K> keys() {
-        return new ArrayList<>(keys);
+        return new KeyView();
     }
 
 
     /**
-     * Returns a list of all values stored in the map.
+     * Returns a read-only view of all values stored in the map, in insertion order of their keys.
+     * The view reflects later changes to the map.
      *
      * @return A list of values.
      */
     public List<V> getValues(){
-        return this.values;
+        return new ValueView();
     }
 
     /**
@@ -84,37 +144,256 @@ public class MyMap<K, V> implements Map<K, V> {
      */
     @Override
     public void remove(K key) {
-        int index = keys.indexOf(key);
-        if (index != -1) {
-            keys.remove(index);
-            values.remove(index);
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        int index = table[slot];
+        if (stats != null) {
+            stats.recordRemove(probeLength(slot, hash));
+        }
+        if (index == EMPTY) {
+            return;
         }
+        keys[index] = REMOVED;
+        values[index] = null;
+        entryRemoved(slot);
     }
 
-
     /**
-     * Checks if the map is empty.
+     * Copies all mappings of the given map into this map, replacing the values of keys that are already present.
+     * The map is grown once for all incoming mappings before copying, so a bulk load of n mappings
+     * runs in O(n) time without repeated resizing of the hash table and entry arrays.
      *
-     * @return true if the map contains no key-value mappings, false otherwise.
+     * @param map The map whose mappings are to be copied.
      */
-    public boolean isEmpty(){
-        return keys.isEmpty();
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureCapacity((int) Math.min((long) size + map.size(), MAX_ENTRY_CAPACITY));
+        map.forEach(this::put);
     }
 
     /**
-     * Returns a set of MyEntry objects, where each entry contains a key and its associated value.
+     * Returns a read-only view of the mappings of this map as MyEntry objects, in insertion order.
+     * Entry objects are created one at a time while iterating; use forEach or cursor to avoid them.
      *
      * @return A set of key-value pairs contained in this map.
      */
     public Set<MyEntry> entrySet() {
         // MyEntry to para klucz-warotsc w MyMapie
-        Set<MyEntry> entrySet = new HashSet<>();
-        for (int i = 0; i < keys.size(); i++) {
-            K key = keys.get(i);
-            V value = values.get(i);
-            entrySet.add(new MyEntry(key, value));
+        return new EntryView();
+    }
+
+    /**
+     * Performs the given action for each mapping in insertion order.
+     *
+     * @param action The action to be performed for each key and its value.
+     * @throws ConcurrentModificationException if the action adds or removes keys.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < used; i++) {
+            Object key = keys[i];
+            if (key != REMOVED) {
+                action.accept((K) key, (V) values[i]);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor walking the mappings in insertion order.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    @Override
+    public MapCursor<K, V> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Spreads the key's hash code so that keys with similar hash codes land far apart in the table.
+     *
+     * @param key The key to hash, may be null.
+     * @return the spread hash of the key.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return (h ^ (h >>> 16)) * GOLDEN_RATIO;
+    }
+
+    /**
+     * Finds the table slot holding the given key, or the empty slot where it would be inserted.
+     *
+     * @param key  The key to look for.
+     * @param hash The spread hash of the key.
+     * @return the slot index in the hash table.
+     */
+    private int findSlot(Object key, int hash) {
+        int mask = table.length - 1;
+        int slot = hash >>> shift;
+        while (true) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                return slot;
+            }
+            if (hashes[index] == hash) {
+                Object candidate = keys[index];
+                if (candidate == key || (key != null && key.equals(candidate))) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private final class KeyView extends AbstractList<K> implements RandomAccess {
+        @Override
+        @SuppressWarnings("unchecked")
+        public K get(int index) {
+            return (K) keys[entryPosition(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                K element(int position) {
+                    return (K) keys[position];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return table[findSlot(o, hash(o))] != EMPTY;
         }
-        return entrySet;
+    }
+
+    private final class ValueView extends AbstractList<V> implements RandomAccess {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            return (V) values[entryPosition(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                V element(int position) {
+                    return (V) values[position];
+                }
+            };
+        }
+    }
+
+    private final class EntryView extends AbstractSet<MyEntry> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<MyEntry> iterator() {
+            return new PositionIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                MyEntry element(int position) {
+                    return new MyEntry((K) keys[position], (V) values[position]);
+                }
+            };
+        }
+    }
+
+    private final class Cursor implements MapCursor<K, V> {
+        private int position = -1;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            do {
+                position++;
+            } while (position < used && keys[position] == REMOVED);
+            return position < used;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K key() {
+            checkPosition();
+            return (K) keys[position];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkPosition();
+            return (V) values[position];
+        }
+
+        private void checkPosition() {
+            if (position < 0 || position >= used) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+        }
+    }
+
+    @Override
+    int hashAt(int position) {
+        return hashes[position];
+    }
+
+    @Override
+    boolean isRemoved(int position) {
+        return keys[position] == REMOVED;
+    }
+
+    @Override
+    int entryCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    void resizeEntries(int capacity) {
+        hashes = Arrays.copyOf(hashes, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void moveEntry(int from, int to) {
+        hashes[to] = hashes[from];
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearEntries(int from, int to) {
+        Arrays.fill(keys, from, to, null);
+        Arrays.fill(values, from, to, null);
+    }
+
+    @Override
+    long entryBytes() {
+        return MapStats.intArrayBytes(hashes.length)
+                + MapStats.referenceArrayBytes(keys.length) + MapStats.referenceArrayBytes(values.length);
     }
 
     /**
@@ -170,7 +449,7 @@ public class MyMap<K, V> implements Map<K, V> {
          * @return the int representing a size of entry
          */
         public int size() {
-            return entrySet().size();
+            return MyMap.this.size;
         }
     }
 }
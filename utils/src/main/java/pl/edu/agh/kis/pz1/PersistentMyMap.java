@@ -0,0 +1,566 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * The PersistentMyMap class is a Map built on a hash array mapped trie (HAMT). The trie is never
+ * modified in place: every update copies only the nodes on the path from the root to the changed
+ * key, at most one node per 5 bits of the hash, i.e. O(log32 n) nodes, and shares the rest with
+ * the previous version.
+ *
+ * Because old versions stay intact, {@link #snapshot()} can hand out an immutable copy of the map
+ * in O(1) time, and that copy never changes while this map keeps being updated. The methods
+ * {@link #with(Object, Object)} and {@link #without(Object)} return new versions and leave the
+ * map they are called on unchanged.
+ *
+ * Null keys are not allowed.
+ *
+ * @param <K> The type of keys maintained by this map.
+ * @param <V> The type of values associated with the keys.
+ */
+public class PersistentMyMap<K, V> implements Map<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 7;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private Node root;
+    private int size;
+    private final boolean frozen;
+
+    /**
+     * Constructs an empty, updatable PersistentMyMap.
+     */
+    public PersistentMyMap() {
+        this(null, 0, false);
+    }
+
+    private PersistentMyMap(Node root, int size, boolean frozen) {
+        this.root = root;
+        this.size = size;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Associates the value with the key, replacing the current version of this map with one
+     * that shares all untouched nodes with it.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be associated with the key.
+     * @throws NullPointerException          if the key is null.
+     * @throws UnsupportedOperationException if this map is a snapshot.
+     */
+    @Override
+    public void put(K key, V value) {
+        checkNotFrozen();
+        PersistentMyMap<K, V> updated = with(key, value);
+        root = updated.root;
+        size = updated.size;
+    }
+
+    /**
+     * Retrieves the value associated with the key.
+     *
+     * @param key The key whose associated value is to be returned.
+     * @return The value associated with the key, or null if the key is null or not present in the map.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null || root == null) {
+            return null;
+        }
+        return (V) root.find(hash(key), 0, key);
+    }
+
+    /**
+     * Removes the mapping for the key, if present, replacing the current version of this map.
+     *
+     * @param key The key to be removed.
+     * @throws UnsupportedOperationException if this map is a snapshot.
+     */
+    @Override
+    public void remove(K key) {
+        checkNotFrozen();
+        PersistentMyMap<K, V> updated = without(key);
+        root = updated.root;
+        size = updated.size;
+    }
+
+    /**
+     * Returns a new map containing the mappings of this one plus the given mapping.
+     * This map is not modified.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be associated with the key.
+     * @return The new version of the map.
+     * @throws NullPointerException if the key is null.
+     */
+    public PersistentMyMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        int hash = hash(key);
+        boolean[] added = new boolean[1];
+        Node newRoot = root == null
+                ? BitmapNode.EMPTY.put(hash, 0, key, value, added)
+                : root.put(hash, 0, key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMyMap<>(newRoot, added[0] ? size + 1 : size, frozen);
+    }
+
+    /**
+     * Returns a new map containing the mappings of this one except the given key.
+     * This map is not modified.
+     *
+     * @param key The key to be removed.
+     * @return The new version of the map.
+     */
+    public PersistentMyMap<K, V> without(K key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(hash(key), 0, key);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMyMap<>(newRoot, size - 1, frozen);
+    }
+
+    /**
+     * Returns an immutable copy of the current contents of this map in O(1) time.
+     * Later updates of this map are not visible in the snapshot.
+     *
+     * @return A snapshot whose put and remove throw UnsupportedOperationException.
+     */
+    public PersistentMyMap<K, V> snapshot() {
+        return frozen ? this : new PersistentMyMap<>(root, size, true);
+    }
+
+    /**
+     * Returns a list of all keys in this version of the map.
+     *
+     * @return A new list of keys.
+     */
+    @Override
+    public List<K> keys() {
+        List<K> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(key));
+        return result;
+    }
+
+    /**
+     * Returns a list of all values in this version of the map.
+     *
+     * @return A new list of values.
+     */
+    public List<V> getValues() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    /**
+     * Returns the number of mappings in this version of the map.
+     *
+     * @return The number of mappings.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map contains no mappings, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether this map is an immutable snapshot.
+     *
+     * @return true if put and remove are rejected, false otherwise.
+     */
+    public boolean isSnapshot() {
+        return frozen;
+    }
+
+    /**
+     * Performs the given action for each mapping of the version of the map current at the time of the call.
+     *
+     * @param action The action to be performed for each key and its value.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /**
+     * Returns a cursor over the version of the map current at the time of the call.
+     * Updates made afterwards do not affect the cursor.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    @Override
+    public MapCursor<K, V> cursor() {
+        return new Cursor(root);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Snapshot cannot be modified");
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) * GOLDEN_RATIO;
+    }
+
+    private static int fragment(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    /**
+     * A trie node. Nodes are immutable; updating methods return a new node, or the same node if nothing changed.
+     */
+    private abstract static class Node {
+        abstract Object find(int hash, int shift, Object key);
+
+        abstract Node put(int hash, int shift, Object key, Object value, boolean[] added);
+
+        /**
+         * @return the updated node, null if it became empty, or this node if the key was not found.
+         */
+        abstract Node remove(int hash, int shift, Object key);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+
+        /**
+         * @return the number of key or child slots of the node.
+         */
+        abstract int slots();
+
+        /**
+         * @return the key in the given slot, or null if the slot holds a child node.
+         */
+        abstract Object keyAt(int slot);
+
+        abstract Object valueAt(int slot);
+    }
+
+    /**
+     * A node whose bitmap tells which of the 32 hash fragments are present. For every present fragment
+     * the array holds a key and its value, or null and a child node for keys that share the fragment.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = index(bit);
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+            if (storedKey == null) {
+                return ((Node) stored).find(hash, shift + BITS, key);
+            }
+            return key.equals(storedKey) ? stored : null;
+        }
+
+        @Override
+        Node put(int hash, int shift, Object key, Object value, boolean[] added) {
+            int bit = 1 << fragment(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, 2 * index);
+                newArray[2 * index] = key;
+                newArray[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, newArray, 2 * index + 2, array.length - 2 * index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+            if (storedKey == null) {
+                Node child = (Node) stored;
+                Node newChild = child.put(hash, shift + BITS, key, value, added);
+                return newChild == child ? this : withSlot(index, null, newChild);
+            }
+            if (key.equals(storedKey)) {
+                return stored == value ? this : withSlot(index, storedKey, value);
+            }
+            added[0] = true;
+            Node child = createNode(shift + BITS, storedKey, stored, hash(storedKey), key, value, hash);
+            return withSlot(index, null, child);
+        }
+
+        @Override
+        Node remove(int hash, int shift, Object key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+            if (storedKey == null) {
+                Node child = (Node) stored;
+                Node newChild = child.remove(hash, shift + BITS, key);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    // a child left with a single key is pulled up into this node
+                    if (newChild.slots() == 1 && newChild.keyAt(0) != null) {
+                        return withSlot(index, newChild.keyAt(0), newChild.valueAt(0));
+                    }
+                    return withSlot(index, null, newChild);
+                }
+            } else if (!key.equals(storedKey)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * index);
+            System.arraycopy(array, 2 * index + 2, newArray, 2 * index, array.length - 2 * index - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private BitmapNode withSlot(int index, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[2 * index] = key;
+            newArray[2 * index + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        int slots() {
+            return array.length / 2;
+        }
+
+        @Override
+        Object keyAt(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        Object valueAt(int slot) {
+            return array[2 * slot + 1];
+        }
+    }
+
+    /**
+     * A node holding keys whose full 32-bit hashes are equal.
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(int hash, int shift, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // the new key only shares a hash prefix, so this node moves one level down
+                return new BitmapNode(1 << fragment(this.hash, shift), new Object[]{null, this})
+                        .put(hash, shift, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int hash, int shift, Object key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        @Override
+        int slots() {
+            return array.length / 2;
+        }
+
+        @Override
+        Object keyAt(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        Object valueAt(int slot) {
+            return array[2 * slot + 1];
+        }
+    }
+
+    /**
+     * Creates the smallest subtree holding two different keys that share the hash fragments above the given shift.
+     */
+    private static Node createNode(int shift, Object key1, Object value1, int hash1,
+                                   Object key2, Object value2, int hash2) {
+        if (hash1 == hash2 || shift > BITS * (MAX_DEPTH - 1)) {
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+        int fragment1 = fragment(hash1, shift);
+        int fragment2 = fragment(hash2, shift);
+        if (fragment1 == fragment2) {
+            Node child = createNode(shift + BITS, key1, value1, hash1, key2, value2, hash2);
+            return new BitmapNode(1 << fragment1, new Object[]{null, child});
+        }
+        Object[] array = fragment1 < fragment2
+                ? new Object[]{key1, value1, key2, value2}
+                : new Object[]{key2, value2, key1, value1};
+        return new BitmapNode((1 << fragment1) | (1 << fragment2), array);
+    }
+
+    /**
+     * Depth-first cursor over an immutable trie, keeping the path in fixed-size arrays.
+     */
+    private final class Cursor implements MapCursor<K, V> {
+        private final Node[] nodes = new Node[MAX_DEPTH + 2];
+        private final int[] positions = new int[MAX_DEPTH + 2];
+        private int depth;
+        private Object key;
+        private Object value;
+        private boolean positioned;
+
+        Cursor(Node root) {
+            if (root == null) {
+                depth = -1;
+            } else {
+                nodes[0] = root;
+                positions[0] = 0;
+            }
+        }
+
+        @Override
+        public boolean advance() {
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                int position = positions[depth];
+                if (position >= node.slots()) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 1;
+                Object slotKey = node.keyAt(position);
+                if (slotKey == null) {
+                    depth++;
+                    nodes[depth] = (Node) node.valueAt(position);
+                    positions[depth] = 0;
+                } else {
+                    key = slotKey;
+                    value = node.valueAt(position);
+                    positioned = true;
+                    return true;
+                }
+            }
+            positioned = false;
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K key() {
+            checkPosition();
+            return (K) key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkPosition();
+            return (V) value;
+        }
+
+        private void checkPosition() {
+            if (!positioned) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package pl.edu.agh.kis.pz1;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The SortedMyMap class is a Map that keeps its keys sorted, implemented as a skip list.
+ * Every node is linked on a random number of levels, so put, get, remove and the navigation
+ * methods (floor, ceiling, lower, higher) run in expected O(log n) time, and a range of k
+ * consecutive keys is visited in O(log n + k) time.
+ *
+ * Keys are ordered by the comparator given at construction, or by their natural ordering.
+ * Null keys are not allowed.
+ *
+ * @param <K> The type of keys maintained by this map.
+ * @param <V> The type of values associated with the keys.
+ */
+public class SortedMyMap<K, V> implements Map<K, V> {
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+    private int modCount;
+    private int randomSeed = 0x2545F491;
+
+    /**
+     * Constructs an empty SortedMyMap ordering keys by their natural ordering.
+     */
+    public SortedMyMap() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty SortedMyMap ordering keys with the given comparator.
+     *
+     * @param comparator The comparator used to order keys, or null to use their natural ordering.
+     */
+    public SortedMyMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Associates the value with the key. If the key already exists, its value is updated.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value to be associated with the key.
+     * @throws NullPointerException if the key is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Node<K, V>[] update = new Node[MAX_LEVEL];
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i].key, key) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node<K, V> candidate = node.next[0];
+        if (candidate != null && compare(candidate.key, key) == 0) {
+            candidate.value = value;
+            return;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                update[i] = head;
+            }
+            level = nodeLevel;
+        }
+        Node<K, V> created = new Node<>(key, value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            created.next[i] = update[i].next[i];
+            update[i].next[i] = created;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves the value associated with the key.
+     *
+     * @param key The key whose associated value is to be returned.
+     * @return The value associated with the key, or null if the key is null or not present in the map.
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Node<K, V> node = ceilingNode(key);
+        return node != null && compare(node.key, key) == 0 ? node.value : null;
+    }
+
+    /**
+     * Removes the mapping for the key, if present.
+     *
+     * @param key The key to be removed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+        Node<K, V>[] update = new Node[MAX_LEVEL];
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i].key, key) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node<K, V> target = node.next[0];
+        if (target == null || compare(target.key, key) != 0) {
+            return;
+        }
+        for (int i = 0; i < target.next.length; i++) {
+            update[i].next[i] = target.next[i];
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Returns a read-only view of all keys in ascending order. The view reflects later changes
+     * to the map; iterating it is O(n), while get(i) walks the first i keys.
+     *
+     * @return A list of keys.
+     */
+    @Override
+    public List<K> keys() {
+        return new OrderedView<>(this, head, null, node -> node.key);
+    }
+
+    /**
+     * Returns a read-only view of all values in ascending order of their keys. The view reflects
+     * later changes to the map; iterating it is O(n), while get(i) walks the first i values.
+     *
+     * @return A list of values.
+     */
+    public List<V> getValues() {
+        return new OrderedView<>(this, head, null, node -> node.value);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return The number of mappings.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map contains no mappings, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs the given action for each mapping in ascending key order.
+     *
+     * @param action The action to be performed for each key and its value.
+     * @throws ConcurrentModificationException if the action adds or removes keys.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEachFrom(head.next[0], null, action);
+    }
+
+    /**
+     * Returns a cursor walking the mappings in ascending key order.
+     *
+     * @return A cursor positioned before the first mapping.
+     */
+    @Override
+    public MapCursor<K, V> cursor() {
+        return new Cursor(head, null);
+    }
+
+    /**
+     * Returns the mapping with the smallest key.
+     *
+     * @return The first entry, or null if the map is empty.
+     */
+    public Entry<K, V> firstEntry() {
+        return head.next[0];
+    }
+
+    /**
+     * Returns the mapping with the largest key.
+     *
+     * @return The last entry, or null if the map is empty.
+     */
+    public Entry<K, V> lastEntry() {
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null) {
+                node = node.next[i];
+            }
+        }
+        return node == head ? null : node;
+    }
+
+    /**
+     * Returns the mapping with the largest key less than or equal to the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching entry, or null if there is no such key.
+     */
+    public Entry<K, V> floorEntry(K key) {
+        Node<K, V> lower = lowerNode(key);
+        Node<K, V> next = lower.next[0];
+        if (next != null && compare(next.key, key) == 0) {
+            return next;
+        }
+        return lower == head ? null : lower;
+    }
+
+    /**
+     * Returns the mapping with the smallest key greater than or equal to the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching entry, or null if there is no such key.
+     */
+    public Entry<K, V> ceilingEntry(K key) {
+        return ceilingNode(key);
+    }
+
+    /**
+     * Returns the mapping with the largest key strictly less than the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching entry, or null if there is no such key.
+     */
+    public Entry<K, V> lowerEntry(K key) {
+        Node<K, V> lower = lowerNode(key);
+        return lower == head ? null : lower;
+    }
+
+    /**
+     * Returns the mapping with the smallest key strictly greater than the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching entry, or null if there is no such key.
+     */
+    public Entry<K, V> higherEntry(K key) {
+        Node<K, V> node = ceilingNode(key);
+        if (node != null && compare(node.key, key) == 0) {
+            node = node.next[0];
+        }
+        return node;
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching key, or null if there is no such key.
+     */
+    public K floorKey(K key) {
+        Entry<K, V> entry = floorEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key.
+     *
+     * @param key The key to search for.
+     * @return The matching key, or null if there is no such key.
+     */
+    public K ceilingKey(K key) {
+        Entry<K, V> entry = ceilingEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Returns a view of the mappings whose keys lie in the range from fromKey (inclusive)
+     * to toKey (exclusive). Reading the view costs O(log n + k) for k keys in the range, and
+     * writes through the view go to this map; putting a key outside the range is rejected.
+     *
+     * @param fromKey The lowest key of the range, inclusive.
+     * @param toKey   The end of the range, exclusive.
+     * @return A map view of the range.
+     * @throws IllegalArgumentException if fromKey is greater than toKey.
+     */
+    public Map<K, V> subMap(K fromKey, K toKey) {
+        Objects.requireNonNull(fromKey, "Range bounds cannot be null");
+        Objects.requireNonNull(toKey, "Range bounds cannot be null");
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey is greater than toKey");
+        }
+        return new SubMap(fromKey, toKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b) {
+        return comparator != null ? comparator.compare(a, b) : ((Comparable<? super K>) a).compareTo(b);
+    }
+
+    /**
+     * Returns the last node whose key is strictly less than the given key, or the head.
+     */
+    private Node<K, V> lowerNode(K key) {
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i].key, key) < 0) {
+                node = node.next[i];
+            }
+        }
+        return node;
+    }
+
+    private Node<K, V> ceilingNode(K key) {
+        return lowerNode(key).next[0];
+    }
+
+    private void forEachFrom(Node<K, V> first, K toKey, BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (Node<K, V> node = first; node != null && (toKey == null || compare(node.key, toKey) < 0);
+             node = node.next[0]) {
+            action.accept(node.key, node.value);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private int randomLevel() {
+        // xorshift generator; each further level is taken with probability 1/4
+        int x = randomSeed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        randomSeed = x;
+        int nodeLevel = 1;
+        while ((x & 3) == 0 && nodeLevel < MAX_LEVEL) {
+            nodeLevel++;
+            x >>>= 2;
+        }
+        return nodeLevel;
+    }
+
+    /**
+     * A read-only key-value pair stored in a SortedMyMap.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    public interface Entry<K, V> {
+        /**
+         * @return The key of this entry.
+         */
+        K getKey();
+
+        /**
+         * @return The value of this entry.
+         */
+        V getValue();
+    }
+
+    private static final class Node<K, V> implements Entry<K, V> {
+        final K key;
+        V value;
+        final Node<K, V>[] next;
+
+        @SuppressWarnings("unchecked")
+        Node(K key, V value, int level) {
+            this.key = key;
+            this.value = value;
+            this.next = new Node[level];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return key + " = " + value;
+        }
+    }
+
+    /**
+     * A read-only list over the nodes following a start node, up to an exclusive end key.
+     */
+    private static final class OrderedView<K, V, T> extends AbstractList<T> {
+        private final SortedMyMap<K, V> map;
+        private final Node<K, V> before;
+        private final K toKey;
+        private final Function<Node<K, V>, T> element;
+
+        OrderedView(SortedMyMap<K, V> map, Node<K, V> before, K toKey,
+                    Function<Node<K, V>, T> element) {
+            this.map = map;
+            this.before = before;
+            this.toKey = toKey;
+            this.element = element;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            Iterator<T> iterator = iterator();
+            for (int i = 0; i < index && iterator.hasNext(); i++) {
+                iterator.next();
+            }
+            if (!iterator.hasNext()) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public int size() {
+            if (before == map.head && toKey == null) {
+                return map.size;
+            }
+            int count = 0;
+            for (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private Node<K, V> next = advance(before);
+                private final int expectedModCount = map.modCount;
+
+                private Node<K, V> advance(Node<K, V> node) {
+                    Node<K, V> candidate = node.next[0];
+                    if (candidate != null && toKey != null && map.compare(candidate.key, toKey) >= 0) {
+                        return null;
+                    }
+                    return candidate;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public T next() {
+                    if (map.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> current = next;
+                    next = advance(current);
+                    return element.apply(current);
+                }
+            };
+        }
+    }
+
+    private final class Cursor implements MapCursor<K, V> {
+        private Node<K, V> current;
+        private final Node<K, V> before;
+        private final K toKey;
+        private final int expectedModCount = modCount;
+        private boolean finished;
+
+        Cursor(Node<K, V> before, K toKey) {
+            this.before = before;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (finished) {
+                return false;
+            }
+            Node<K, V> next = current == null ? before.next[0] : current.next[0];
+            if (next == null || (toKey != null && compare(next.key, toKey) >= 0)) {
+                finished = true;
+                current = null;
+                return false;
+            }
+            current = next;
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return currentNode().key;
+        }
+
+        @Override
+        public V value() {
+            return currentNode().value;
+        }
+
+        private Node<K, V> currentNode() {
+            if (current == null) {
+                throw new IllegalStateException("Cursor does not point at a mapping");
+            }
+            return current;
+        }
+    }
+
+    /**
+     * A view of the keys of the enclosing map within a half-open range.
+     */
+    private final class SubMap implements Map<K, V> {
+        private final K fromKey;
+        private final K toKey;
+
+        SubMap(K fromKey, K toKey) {
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        private boolean inRange(K key) {
+            return key != null && compare(key, fromKey) >= 0 && compare(key, toKey) < 0;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("Key out of range: " + key);
+            }
+            SortedMyMap.this.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            return inRange(key) ? SortedMyMap.this.get(key) : null;
+        }
+
+        @Override
+        public List<K> keys() {
+            return new ArrayList<>(new OrderedView<>(SortedMyMap.this, lowerNode(fromKey), toKey, node -> node.key));
+        }
+
+        @Override
+        public void remove(K key) {
+            if (inRange(key)) {
+                SortedMyMap.this.remove(key);
+            }
+        }
+
+        @Override
+        public int size() {
+            return new OrderedView<>(SortedMyMap.this, lowerNode(fromKey), toKey, node -> node.key).size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            forEachFrom(ceilingNode(fromKey), toKey, action);
+        }
+
+        @Override
+        public MapCursor<K, V> cursor() {
+            return new Cursor(lowerNode(fromKey), toKey);
+        }
+    }
+}
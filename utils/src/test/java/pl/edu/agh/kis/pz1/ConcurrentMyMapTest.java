@@ -0,0 +1,133 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentMyMapTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        ConcurrentMyMap<String, Integer> map = new ConcurrentMyMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("one", 11);
+
+        assertEquals(11, map.get("one"));
+        assertEquals(2, map.get("two"));
+        assertEquals(2, map.size());
+
+        map.remove("one");
+        assertNull(map.get("one"));
+        assertEquals(List.of("two"), map.keys());
+    }
+
+    @Test
+    void testPutIfAbsent() {
+        ConcurrentMyMap<String, Integer> map = new ConcurrentMyMap<>();
+
+        assertNull(map.putIfAbsent("key", 1));
+        assertEquals(1, map.putIfAbsent("key", 2));
+        assertEquals(1, map.get("key"));
+    }
+
+    @Test
+    void testNullsAreRejected() {
+        ConcurrentMyMap<String, Integer> map = new ConcurrentMyMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("key", null));
+        assertNull(map.get(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentMyMap<String, Integer>(0));
+    }
+
+    @Test
+    void testCursorAndForEachVisitEveryMapping() {
+        ConcurrentMyMap<Integer, Integer> map = new ConcurrentMyMap<>(1);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i * 2);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            map.remove(i);
+        }
+
+        int visited = 0;
+        MapCursor<Integer, Integer> cursor = map.cursor();
+        while (cursor.advance()) {
+            assertEquals(cursor.key() * 2, cursor.value());
+            assertEquals(1, cursor.key() % 2);
+            visited++;
+        }
+        assertFalse(cursor.advance());
+        assertEquals(500, visited);
+
+        List<Integer> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(500, keys.size());
+        assertFalse(map.isEmpty());
+    }
+
+    @Test
+    void testConcurrentWriters() throws Exception {
+        ConcurrentMyMap<Integer, Integer> map = new ConcurrentMyMap<>(8);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < offset + perThread; i++) {
+                    map.put(i, i);
+                    assertEquals(i, map.get(i));
+                }
+                for (int i = offset; i < offset + perThread; i += 2) {
+                    map.remove(i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread / 2, map.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    void testKeysDifferingOnlyInHighBitsAreSpread() {
+        ConcurrentMyMap<HighBitsKey, Integer> single = new ConcurrentMyMap<>(1);
+        ConcurrentMyMap<HighBitsKey, Integer> segmented = new ConcurrentMyMap<>(16);
+        for (int i = 0; i < 4096; i++) {
+            single.put(new HighBitsKey(i), i);
+            segmented.put(new HighBitsKey(i), i);
+        }
+
+        assertTrue(single.longestChain() <= 8, "Chains should stay short, was " + single.longestChain());
+        assertTrue(segmented.longestChain() <= 8, "Chains should stay short, was " + segmented.longestChain());
+        assertEquals(Integer.valueOf(1234), single.get(new HighBitsKey(1234)));
+        assertEquals(Integer.valueOf(1234), segmented.get(new HighBitsKey(1234)));
+    }
+
+    /**
+     * A key whose hash code, after folding the upper half into the lower one, differs from other keys
+     * only above bit 16.
+     */
+    private record HighBitsKey(int id) {
+        @Override
+        public int hashCode() {
+            return (id << 16) ^ id;
+        }
+    }
+}
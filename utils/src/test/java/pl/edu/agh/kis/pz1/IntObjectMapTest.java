@@ -0,0 +1,242 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectMapTest {
+
+    @Test
+    void testPutAndGet() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(101, "one");
+        map.put(102, "two");
+
+        assertEquals("one", map.get(101));
+        assertEquals("two", map.get(102));
+        assertNull(map.get(103));
+        assertTrue(map.containsKey(101));
+        assertFalse(map.containsKey(103));
+    }
+
+    @Test
+    void testUpdateValue() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "value1");
+        map.put(1, "value2");
+
+        assertEquals("value2", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testBoxedMapInterface() {
+        Map<Integer, String> map = new IntObjectMap<>();
+        map.put(Integer.valueOf(5), "five");
+
+        assertEquals("five", map.get(Integer.valueOf(5)));
+        assertNull(map.get(null));
+
+        map.remove(Integer.valueOf(5));
+        map.remove(null);
+        assertNull(map.get(Integer.valueOf(5)));
+        assertTrue(map.keys().isEmpty());
+    }
+
+    @Test
+    void testNegativeAndZeroKeys() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+        map.put(Integer.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void testRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "one");
+        map.put(2, "two");
+
+        map.remove(1);
+        map.remove(3);
+
+        assertNull(map.get(1));
+        assertEquals("two", map.get(2));
+        assertEquals(List.of(2), map.keys());
+        assertEquals(List.of("two"), map.getValues());
+    }
+
+    @Test
+    void testManyEntriesWithRemovals() {
+        IntObjectMap<String> map = new IntObjectMap<>(0, 0.9f);
+        for (int i = 0; i < 20_000; i++) {
+            map.put(i * 100, String.valueOf(i));
+        }
+        for (int i = 0; i < 20_000; i += 2) {
+            map.remove(i * 100);
+        }
+        for (int i = 20_000; i < 25_000; i++) {
+            map.put(i * 100, String.valueOf(i));
+        }
+
+        assertEquals(15_000, map.size());
+        for (int i = 0; i < 25_000; i++) {
+            if (i < 20_000 && i % 2 == 0) {
+                assertNull(map.get(i * 100));
+            } else {
+                assertEquals(String.valueOf(i), map.get(i * 100));
+            }
+        }
+    }
+
+    @Test
+    void testKeysKeepInsertionOrder() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(301, "c");
+        map.put(101, "a");
+        map.put(201, "b");
+
+        assertEquals(List.of(301, 101, 201), map.keys());
+        assertEquals(List.of("c", "a", "b"), map.getValues());
+    }
+
+    @Test
+    void testIsEmpty() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertTrue(map.isEmpty());
+
+        map.put(1, "value");
+        assertFalse(map.isEmpty());
+
+        map.remove(1);
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testInvalidConstructorArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>(10, 1.5f));
+    }
+
+    @Test
+    void testCursorExposesPrimitiveKeys() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(101, "a");
+        map.put(102, "b");
+        map.remove(101);
+        map.put(103, "c");
+
+        IntObjectMap<String>.Cursor cursor = map.cursor();
+        assertTrue(cursor.advance());
+        assertEquals(102, cursor.intKey());
+        assertEquals("b", cursor.value());
+        assertTrue(cursor.advance());
+        assertEquals(103, cursor.key());
+        assertFalse(cursor.advance());
+        assertThrows(IllegalStateException.class, cursor::value);
+    }
+
+    @Test
+    void testForEachAndLiveViews() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        List<String> values = map.getValues();
+        map.put(1, "one");
+        map.put(2, "two");
+
+        StringBuilder visited = new StringBuilder();
+        map.forEach((key, value) -> visited.append(key).append(value));
+
+        assertEquals("1one2two", visited.toString());
+        assertEquals(List.of("one", "two"), values);
+        assertTrue(map.keys().contains(2));
+        assertFalse(map.keys().contains("2"));
+    }
+
+    @Test
+    void testPutAllFromPrimitiveAndGenericMaps() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "one");
+        map.put(2, "two");
+        map.remove(1);
+        IntObjectMap<String> other = new IntObjectMap<>();
+        other.put(2, "TWO");
+        other.put(3, "three");
+        MyMap<Integer, String> generic = new MyMap<>();
+        generic.put(4, "four");
+
+        map.putAll(other);
+        map.putAll(generic);
+
+        assertEquals(List.of(2, 3, 4), map.keys());
+        assertEquals(List.of("TWO", "three", "four"), map.getValues());
+    }
+
+    @Test
+    void testEnsureCapacityBeforeBulkLoad() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(-1, "minus one");
+        map.put(0, "zero");
+        map.remove(-1);
+        map.ensureCapacity(5_000);
+        for (int i = 1; i < 5_000; i++) {
+            map.put(i, Integer.toString(i));
+        }
+
+        assertEquals(5_000, map.size());
+        assertEquals(0, map.keys().get(0));
+        assertEquals("4999", map.get(4_999));
+        assertFalse(map.containsKey(-1));
+        assertThrows(IllegalArgumentException.class, () -> map.ensureCapacity(-1));
+    }
+
+    @Test
+    void testStatsCountLookupsAndCompactions() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.enableStats();
+        for (int i = 0; i < 8; i++) {
+            map.put(i, "value" + i);
+        }
+        for (int i = 0; i < 6; i++) {
+            map.remove(i);
+        }
+        map.containsKey(7);
+        map.get(100);
+        map.ensureCapacity(100);
+
+        MapStats stats = map.getStats();
+        assertEquals(2, stats.getLookups());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(8, stats.getPuts());
+        assertEquals(6, stats.getRemoves());
+        assertEquals(1, stats.getCompactions());
+        assertEquals(2, stats.getSize());
+        assertEquals(100, stats.getEntryCapacity());
+        assertEquals(3 * 16 + 4L * stats.getTableCapacity() + 8L * stats.getEntryCapacity(),
+                stats.getFootprintBytes());
+    }
+
+    @Test
+    void testViewReadDoesNotModifyMap() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "value" + i);
+        }
+        map.remove(1);
+        map.remove(3);
+        Iterator<Integer> iterator = map.keys().iterator();
+        iterator.next();
+
+        assertEquals(2, map.keys().get(1), "Index should skip removed entries");
+        assertEquals("value4", map.getValues().get(2));
+        assertEquals(2, iterator.next(), "Reading a view should not invalidate open iterators");
+        map.remove(0);
+        assertEquals(4, map.keys().get(1), "Positions should follow later removals");
+    }
+}
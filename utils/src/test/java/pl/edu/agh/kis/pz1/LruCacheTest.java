@@ -0,0 +1,168 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("one", 1);
+        cache.put("two", 2);
+        cache.get("one");
+        cache.put("three", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(List.of("one", "three"), cache.keys());
+        assertFalse(cache.containsKey("two"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testPutUpdatesValueAndRecency() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("one", 1);
+        cache.put("two", 2);
+        cache.put("one", 10);
+        cache.put("three", 3);
+
+        assertEquals(List.of("one", "three"), cache.keys());
+        assertEquals(10, cache.get("one"));
+    }
+
+    @Test
+    void testHitAndMissStatistics() {
+        LruCache<String, Integer> cache = new LruCache<>(4);
+        cache.put("one", 1);
+        cache.get("one");
+        cache.get("one");
+        cache.get("two");
+        cache.get(null);
+        cache.containsKey("one");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testWeightLimit() {
+        LruCache<String, String> cache = new LruCache<>(10, (key, value) -> value.length());
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        assertEquals(9, cache.getWeight());
+
+        cache.put("c", "12");
+        assertEquals(List.of("b", "c"), cache.keys());
+        assertEquals(6, cache.getWeight());
+
+        cache.put("b", "1");
+        assertEquals(3, cache.getWeight());
+
+        cache.put("d", "12345678901");
+        assertEquals(List.of("c", "b"), cache.keys(), "A mapping heavier than the limit should not evict others");
+        assertEquals(3, cache.getWeight());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void testOversizedValueReplacesOnlyItsKey() {
+        LruCache<String, String> cache = new LruCache<>(10, (key, value) -> value.length());
+        cache.put("a", "12");
+        cache.put("b", "123");
+        cache.put("c", "12");
+
+        cache.put("b", "1234567890123456");
+
+        assertEquals(List.of("a", "c"), cache.keys(), "Only the stale value of the key should be dropped");
+        assertNull(cache.get("b"), "The old value should not be returned");
+        assertEquals(4, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("one", 1);
+        cache.put("two", 2);
+        cache.put("three", 3);
+        cache.remove("two");
+        cache.remove("missing");
+
+        assertEquals(List.of("one", "three"), cache.keys());
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertNull(cache.get("one"));
+        cache.put("four", 4);
+        assertEquals(List.of("four"), cache.keys());
+    }
+
+    @Test
+    void testIterationDoesNotChangeRecency() {
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("one", 1);
+        cache.put("two", 2);
+        List<String> seen = new ArrayList<>();
+        cache.forEach((key, value) -> seen.add(key + "=" + value));
+        MapCursor<String, Integer> cursor = cache.cursor();
+        while (cursor.advance()) {
+            seen.add(cursor.key());
+        }
+
+        assertEquals(List.of("one=1", "two=2", "one", "two"), seen);
+        assertFalse(cursor.advance());
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertEquals(List.of("one", "two"), cache.keys());
+        assertThrows(ConcurrentModificationException.class, () -> cache.forEach((key, value) -> cache.get("one")));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Integer>(0));
+        assertThrows(NullPointerException.class, () -> new LruCache<String, Integer>(5, null));
+        assertThrows(NullPointerException.class, () -> cache.put(null, 1));
+        assertThrows(NullPointerException.class, () -> cache.put("one", null));
+        LruCache<String, Integer> negative = new LruCache<>(5, (key, value) -> value);
+        assertThrows(IllegalArgumentException.class, () -> negative.put("minus", -1));
+    }
+
+    @Test
+    void testMatchesAccessOrderedLinkedHashMap() {
+        int capacity = 50;
+        LruCache<Integer, Integer> cache = new LruCache<>(capacity);
+        LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(120);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                assertEquals(expected.get(key), cache.get(key));
+            } else if (operation < 9) {
+                expected.put(key, i);
+                cache.put(key, i);
+            } else {
+                expected.remove(key);
+                cache.remove(key);
+            }
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), cache.keys());
+    }
+}
@@ -0,0 +1,78 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapStatsTest {
+
+    @Test
+    void testEmptyStats() {
+        MapStats stats = new MapStats();
+
+        assertEquals(0.0, stats.getHitRate());
+        assertEquals(0.0, stats.getAverageProbeLength());
+        assertEquals(0.0, stats.getFillRatio());
+        assertEquals(0, stats.getMaxProbeLength());
+    }
+
+    @Test
+    void testDerivedValues() {
+        MapStats stats = new MapStats();
+        stats.recordLookup(1, true);
+        stats.recordLookup(3, false);
+        stats.recordLookup(1, true);
+        stats.recordPut(2);
+        stats.recordRemove(3);
+        stats.recordResize();
+
+        MapStats snapshot = stats.snapshot(6, 16, 8, 200);
+
+        assertEquals(3, snapshot.getLookups());
+        assertEquals(2, snapshot.getHits());
+        assertEquals(1, snapshot.getMisses());
+        assertEquals(2.0 / 3, snapshot.getHitRate(), 1e-9);
+        assertEquals(2.0, snapshot.getAverageProbeLength(), 1e-9);
+        assertEquals(3, snapshot.getMaxProbeLength());
+        assertEquals(1, snapshot.getResizes());
+        assertEquals(0.375, snapshot.getFillRatio(), 1e-9);
+        assertEquals(200, snapshot.getFootprintBytes());
+    }
+
+    @Test
+    void testSnapshotDoesNotChangeLater() {
+        MapStats stats = new MapStats();
+        stats.recordPut(1);
+        MapStats snapshot = stats.snapshot(1, 4, 1, 64);
+
+        stats.recordPut(5);
+
+        assertEquals(1, snapshot.getPuts());
+        assertEquals(1, snapshot.getMaxProbeLength());
+        assertTrue(snapshot.toString().contains("puts=1"));
+        assertTrue(snapshot.toString().contains("fill=0.25"));
+    }
+
+    @Test
+    void testConcurrentLookupsAreAllCounted() throws InterruptedException {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.enableStats();
+        map.put(1, "one");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    map.get(i % 2);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        MapStats stats = map.getStats();
+        assertEquals(40_000, stats.getLookups(), "No lookup should be lost");
+        assertEquals(20_000, stats.getHits());
+    }
+}
@@ -2,6 +2,9 @@ package pl.edu.agh.kis.pz1;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -107,4 +110,228 @@ class MyMapTest {
             assertEquals(entries.size(), entry.size());
         }
     }
+
+    @Test
+    void testManyEntriesSurviveResizing() {
+        MyMap<Integer, String> map = new MyMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "v" + i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+        assertNull(map.get(10_000));
+    }
+
+    @Test
+    void testRemoveKeepsOtherKeysReachable() {
+        MyMap<Integer, Integer> map = new MyMap<>(4, 0.9f);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i * 64, i);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            map.remove(i * 64);
+        }
+
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(i * 64));
+            } else {
+                assertEquals(i, map.get(i * 64));
+            }
+        }
+    }
+
+    @Test
+    void testKeysKeepInsertionOrderAfterRemovals() {
+        MyMap<Integer, String> map = new MyMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            map.remove(i);
+        }
+        for (int i = 100; i < 150; i++) {
+            map.put(i, "v" + i);
+        }
+
+        List<Integer> keys = map.keys();
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1) < keys.get(i));
+        }
+        assertEquals(map.size(), keys.size());
+    }
+
+    @Test
+    void testNullKey() {
+        MyMap<String, Integer> map = new MyMap<>();
+        map.put(null, 1);
+        assertEquals(1, map.get(null));
+
+        map.remove(null);
+        assertNull(map.get(null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testInvalidConstructorArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyMap<String, String>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new MyMap<String, String>(10, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new MyMap<String, String>(10, 1f));
+    }
+
+    @Test
+    void testForEachVisitsMappingsInInsertionOrder() {
+        MyMap<String, Integer> map = new MyMap<>();
+        map.put("b", 2);
+        map.put("a", 1);
+        map.put("c", 3);
+
+        List<String> visited = new ArrayList<>();
+        map.forEach((key, value) -> visited.add(key + value));
+
+        assertEquals(List.of("b2", "a1", "c3"), visited);
+    }
+
+    @Test
+    void testCursor() {
+        MyMap<String, Integer> map = new MyMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("three", 3);
+        map.remove("two");
+
+        MapCursor<String, Integer> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertTrue(cursor.advance());
+        assertEquals("one", cursor.key());
+        assertEquals(1, cursor.value());
+        assertTrue(cursor.advance());
+        assertEquals("three", cursor.key());
+        assertEquals(3, cursor.value());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    void testViewsReflectChanges() {
+        MyMap<String, Integer> map = new MyMap<>();
+        List<String> keys = map.keys();
+        List<Integer> values = map.getValues();
+
+        map.put("one", 1);
+        map.put("two", 2);
+        map.remove("one");
+
+        assertEquals(List.of("two"), keys);
+        assertEquals(List.of(2), values);
+        assertEquals(1, map.entrySet().size());
+        assertTrue(keys.contains("two"));
+        assertFalse(keys.contains("one"));
+        assertThrows(UnsupportedOperationException.class, () -> keys.add("three"));
+    }
+
+    @Test
+    void testModificationDuringIterationFails() {
+        MyMap<String, Integer> map = new MyMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+
+        Iterator<String> iterator = map.keys().iterator();
+        iterator.next();
+        map.put("three", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
+    @Test
+    void testPutAllKeepsOrderAndReplacesValues() {
+        MyMap<String, Integer> map = new MyMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.remove("one");
+        MyMap<String, Integer> other = new MyMap<>();
+        other.put("two", 20);
+        other.put("three", 3);
+        other.put("four", 4);
+
+        map.putAll(other);
+
+        assertEquals(List.of("two", "three", "four"), map.keys());
+        assertEquals(List.of(20, 3, 4), map.getValues());
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testEnsureCapacityBeforeBulkLoad() {
+        MyMap<Integer, Integer> map = new MyMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10; i += 2) {
+            map.remove(i);
+        }
+        map.ensureCapacity(10_000);
+        for (int i = 100; i < 10_000; i++) {
+            map.put(i, -i);
+        }
+
+        assertEquals(9_905, map.size());
+        assertEquals(List.of(1, 3, 5, 7, 9, 100), map.keys().subList(0, 6));
+        assertEquals(-9_999, map.get(9_999));
+        assertNull(map.get(2));
+        assertThrows(IllegalArgumentException.class, () -> map.ensureCapacity(-1));
+    }
+
+    @Test
+    void testStatsAreCollectedOnlyWhenEnabled() {
+        MyMap<String, Integer> map = new MyMap<>(2);
+        map.put("one", 1);
+        map.get("one");
+        assertFalse(map.isStatsEnabled());
+        assertEquals(0, map.getStats().getLookups());
+
+        map.enableStats();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+        map.get("key3");
+        map.get("missing");
+        map.remove("key4");
+
+        MapStats stats = map.getStats();
+        assertTrue(map.isStatsEnabled());
+        assertEquals(2, stats.getLookups());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(20, stats.getPuts());
+        assertEquals(1, stats.getRemoves());
+        assertTrue(stats.getResizes() > 0);
+        assertTrue(stats.getMaxProbeLength() >= 1);
+        assertTrue(stats.getAverageProbeLength() >= 1.0);
+        assertEquals(20, stats.getSize());
+        assertEquals(4 * 16 + 4L * stats.getTableCapacity() + 12L * stats.getEntryCapacity(),
+                stats.getFootprintBytes());
+    }
+
+    @Test
+    void testViewReadDoesNotModifyMap() {
+        MyMap<String, Integer> map = new MyMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put("k" + i, i);
+        }
+        map.remove("k1");
+        map.remove("k3");
+        Iterator<String> iterator = map.keys().iterator();
+        iterator.next();
+
+        assertEquals("k2", map.keys().get(1), "Index should skip removed entries");
+        assertEquals(4, map.getValues().get(2));
+        assertEquals("k2", iterator.next(), "Reading a view should not invalidate open iterators");
+        map.remove("k0");
+        assertEquals("k4", map.keys().get(1), "Positions should follow later removals");
+    }
 }
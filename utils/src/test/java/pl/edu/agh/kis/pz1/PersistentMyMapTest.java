@@ -0,0 +1,140 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentMyMapTest {
+
+    /**
+     * Key with a controllable hash code, used to force hash collisions.
+     */
+    private record CollidingKey(String name, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        PersistentMyMap<String, Integer> map = new PersistentMyMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("one", 11);
+
+        assertEquals(11, map.get("one"));
+        assertEquals(2, map.get("two"));
+        assertEquals(2, map.size());
+
+        map.remove("one");
+        map.remove("missing");
+        assertNull(map.get("one"));
+        assertEquals(List.of("two"), map.keys());
+        assertEquals(List.of(2), map.getValues());
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterUpdates() {
+        PersistentMyMap<Integer, String> map = new PersistentMyMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, "v" + i);
+        }
+
+        PersistentMyMap<Integer, String> snapshot = map.snapshot();
+        map.put(5, "changed");
+        map.remove(6);
+        map.put(2_000, "new");
+
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(1_000, snapshot.size());
+        assertEquals("v5", snapshot.get(5));
+        assertEquals("v6", snapshot.get(6));
+        assertNull(snapshot.get(2_000));
+        assertEquals("changed", map.get(5));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(1, "x"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(1));
+    }
+
+    @Test
+    void testWithAndWithoutLeaveOriginalUnchanged() {
+        PersistentMyMap<String, Integer> original = new PersistentMyMap<>();
+        original.put("a", 1);
+
+        PersistentMyMap<String, Integer> added = original.with("b", 2);
+        PersistentMyMap<String, Integer> removed = original.without("a");
+
+        assertNull(original.get("b"));
+        assertEquals(2, added.get("b"));
+        assertEquals(1, original.get("a"));
+        assertNull(removed.get("a"));
+        assertSame(original, original.without("missing"));
+        assertThrows(NullPointerException.class, () -> original.with(null, 1));
+    }
+
+    @Test
+    void testHashCollisions() {
+        PersistentMyMap<CollidingKey, String> map = new PersistentMyMap<>();
+        CollidingKey first = new CollidingKey("first", 42);
+        CollidingKey second = new CollidingKey("second", 42);
+        CollidingKey third = new CollidingKey("third", 42 + (1 << 20));
+        map.put(first, "1");
+        map.put(second, "2");
+        map.put(third, "3");
+
+        assertEquals("1", map.get(first));
+        assertEquals("2", map.get(second));
+        assertEquals("3", map.get(third));
+        assertEquals(3, map.size());
+
+        map.remove(first);
+        assertNull(map.get(first));
+        assertEquals("2", map.get(second));
+        assertEquals("3", map.get(third));
+    }
+
+    @Test
+    void testCursorVisitsEveryMapping() {
+        PersistentMyMap<Integer, Integer> map = new PersistentMyMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            map.put(i, i);
+        }
+
+        Set<Integer> visited = new HashSet<>();
+        MapCursor<Integer, Integer> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        while (cursor.advance()) {
+            assertEquals(cursor.key(), cursor.value());
+            visited.add(cursor.key());
+        }
+        assertEquals(5_000, visited.size());
+    }
+
+    @Test
+    void testMatchesHashMap() {
+        PersistentMyMap<Integer, Integer> map = new PersistentMyMap<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedMyMapTest {
+
+    @Test
+    void testPutGetAndOrder() {
+        SortedMyMap<Integer, String> map = new SortedMyMap<>();
+        map.put(301, "c");
+        map.put(101, "a");
+        map.put(201, "b");
+        map.put(101, "a2");
+
+        assertEquals("a2", map.get(101));
+        assertNull(map.get(401));
+        assertEquals(3, map.size());
+        assertEquals(List.of(101, 201, 301), map.keys());
+        assertEquals(List.of("a2", "b", "c"), map.getValues());
+        assertEquals("b", map.getValues().get(1));
+    }
+
+    @Test
+    void testRemove() {
+        SortedMyMap<Integer, String> map = new SortedMyMap<>();
+        map.put(1, "one");
+        map.put(2, "two");
+
+        map.remove(1);
+        map.remove(5);
+        map.remove(null);
+
+        assertNull(map.get(1));
+        assertEquals(List.of(2), map.keys());
+        map.remove(2);
+        assertTrue(map.isEmpty());
+        assertNull(map.firstEntry());
+        assertNull(map.lastEntry());
+    }
+
+    @Test
+    void testNavigation() {
+        SortedMyMap<Integer, String> map = new SortedMyMap<>();
+        map.put(10, "ten");
+        map.put(20, "twenty");
+        map.put(30, "thirty");
+
+        assertEquals(20, map.floorKey(25));
+        assertEquals(20, map.floorKey(20));
+        assertNull(map.floorKey(5));
+        assertEquals(30, map.ceilingKey(25));
+        assertEquals(20, map.ceilingKey(20));
+        assertNull(map.ceilingKey(31));
+        assertEquals(10, map.lowerEntry(20).getKey());
+        assertNull(map.lowerEntry(10));
+        assertEquals("thirty", map.higherEntry(20).getValue());
+        assertNull(map.higherEntry(30));
+        assertEquals(10, map.firstEntry().getKey());
+        assertEquals(30, map.lastEntry().getKey());
+    }
+
+    @Test
+    void testSubMap() {
+        SortedMyMap<Integer, String> map = new SortedMyMap<>();
+        for (int number = 100; number < 500; number += 10) {
+            map.put(number, "room" + number);
+        }
+
+        Map<Integer, String> floor3 = map.subMap(300, 400);
+        assertEquals(10, floor3.size());
+        assertEquals(300, floor3.keys().get(0));
+        assertEquals(390, floor3.keys().get(9));
+        assertNull(floor3.get(400));
+        assertEquals("room310", floor3.get(310));
+
+        List<Integer> visited = new ArrayList<>();
+        MapCursor<Integer, String> cursor = floor3.cursor();
+        while (cursor.advance()) {
+            visited.add(cursor.key());
+        }
+        assertEquals(floor3.keys(), visited);
+
+        floor3.put(305, "new");
+        assertEquals("new", map.get(305));
+        assertThrows(IllegalArgumentException.class, () -> floor3.put(405, "outside"));
+        floor3.remove(305);
+        assertNull(map.get(305));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(400, 300));
+    }
+
+    @Test
+    void testComparator() {
+        SortedMyMap<String, Integer> map = new SortedMyMap<>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+
+        assertEquals(List.of("c", "b", "a"), map.keys());
+        assertThrows(NullPointerException.class, () -> map.put(null, 0));
+    }
+
+    @Test
+    void testMatchesTreeMap() {
+        SortedMyMap<Integer, Integer> map = new SortedMyMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keys()));
+        for (int key = -1; key <= 2_001; key += 7) {
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+        }
+    }
+}